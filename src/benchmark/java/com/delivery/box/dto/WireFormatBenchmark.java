@@ -0,0 +1,71 @@
+package com.delivery.box.dto;
+
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.dto.response.ItemResponse;
+import com.delivery.box.entity.BoxState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encode/decode cost of a BoxResponse per wire format; the encoded size is printed once per trial:
+// mvn -P benchmark test-compile exec:exec -Dbenchmark.args=WireFormatBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    public enum WireFormat {
+        JSON, CBOR, SMILE
+    }
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public WireFormat format;
+
+    // 0 is the summary view and the available-box list; loaded boxes carry their items
+    @Param({"0", "10", "100"})
+    public int itemCount;
+
+    private ObjectMapper mapper;
+    private BoxResponse box;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case JSON -> new ObjectMapper();
+            case CBOR -> new CBORMapper();
+            case SMILE -> new SmileMapper();
+        };
+        mapper.findAndRegisterModules();
+
+        List<ItemResponse> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new ItemResponse((long) i, "Item-" + i, 400.0 / Math.max(1, itemCount), "BENCH_" + i, 120.0, 1 + i % 3));
+        }
+        box = new BoxResponse(1L, "BENCH_BOX", 500.0, 100, itemCount == 0 ? BoxState.IDLE : BoxState.LOADED,
+                400.0, 100.0, 8000.0, 120.0 * itemCount, 8000.0 - 120.0 * itemCount, 500, itemCount, 500 - itemCount,
+                itemCount == 0 ? null : items);
+
+        encoded = mapper.writeValueAsBytes(box);
+        System.out.printf("%n%s, %d items: %d bytes%n", format, itemCount, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(box);
+    }
+
+    @Benchmark
+    public BoxResponse decode() throws IOException {
+        return mapper.readValue(encoded, BoxResponse.class);
+    }
+}
\ No newline at end of file
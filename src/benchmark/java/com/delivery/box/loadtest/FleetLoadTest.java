@@ -0,0 +1,232 @@
+package com.delivery.box.loadtest;
+
+import com.delivery.box.BoxDeliveryApplication;
+import com.delivery.box.config.FleetDataGenerator;
+import com.delivery.box.config.FleetProfile;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Mixed create/load/read traffic against a generated fleet, reporting throughput and p50/p99/p999 per
+// endpoint. The application starts on a random port; by default against an in-memory H2 database,
+// or against a local Postgres when --url is given (use a scratch database: generated rows are kept).
+//   mvn -P benchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.delivery.box.loadtest.FleetLoadTest \
+//       -Dbenchmark.args="--boxes=100000 --items=20000 --profile=MIXED --concurrency=64 --duration=60 --mix=create:5,load:25,read:70"
+//   add --url=jdbc:postgresql://localhost:5432/boxdelivery_loadtest --username=postgres --password=... for Postgres
+// Each worker owns one idle box for load/unload pairs; reads fetch random generated boxes and pages of
+// available boxes.
+public class FleetLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LatencyRecorder.parseArgs(args);
+        int boxes = Integer.parseInt(options.getOrDefault("boxes", "100000"));
+        int items = Integer.parseInt(options.getOrDefault("items", "20000"));
+        FleetProfile profile = FleetProfile.valueOf(options.getOrDefault("profile", "MIXED"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        TrafficMix mix = TrafficMix.parse(options.getOrDefault("mix", "create:5,load:25,read:70"));
+        // Unique per run so repeated runs against the same Postgres database do not collide
+        String prefix = "F" + Long.toString(System.currentTimeMillis() % 60_466_176L, 36).toUpperCase();
+
+        try (ConfigurableApplicationContext context = start(options)) {
+            long generateStart = System.nanoTime();
+            context.getBean(FleetDataGenerator.class).generate(prefix, boxes, items, profile, 42L);
+            System.out.printf("Generated %d boxes (%s) and %d items in %.1f s%n",
+                    boxes, profile, items, (System.nanoTime() - generateStart) / 1e9);
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/boxes";
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newFixedThreadPool(8))
+                    .build();
+            for (int worker = 0; worker < concurrency; worker++) {
+                send(client, post(baseUrl, "{\"txref\":\"" + workerTxref(prefix, worker)
+                        + "\",\"weightLimit\":500,\"batteryCapacity\":100}"));
+            }
+
+            Workload workload = new Workload(client, baseUrl, prefix, boxes, items, mix);
+            LatencyRecorder recorder = new LatencyRecorder();
+            workload.drive(recorder, concurrency, warmupSeconds);
+            recorder.reset();
+            long start = System.nanoTime();
+            workload.drive(recorder, concurrency, durationSeconds);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            recorder.report(String.format("%s fleet, %d boxes, %d items, %d clients, mix %s",
+                    profile, boxes, items, concurrency, mix), elapsed, System.out);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Map<String, String> options) {
+        List<String> properties = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.com.delivery.box.config=INFO"));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BoxDeliveryApplication.class);
+
+        if (options.containsKey("url")) {
+            properties.add("--spring.datasource.url=" + options.get("url"));
+            properties.add("--spring.datasource.username=" + options.getOrDefault("username", "postgres"));
+            properties.add("--spring.datasource.password=" + options.getOrDefault("password", ""));
+        } else {
+            builder.profiles("test");
+            properties.add("--spring.datasource.url=jdbc:h2:mem:fleetloadtest;LOCK_TIMEOUT=10000");
+        }
+        return builder.run(properties.toArray(String[]::new));
+    }
+
+    private static String workerTxref(String prefix, int worker) {
+        return prefix + "W" + worker;
+    }
+
+    private static int send(HttpClient client, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception ex) {
+            return -1;
+        }
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    // Relative weights of the three kinds of traffic, e.g. create:5,load:25,read:70
+    private static final class TrafficMix {
+        private final int create;
+        private final int load;
+        private final int read;
+
+        private TrafficMix(int create, int load, int read) {
+            this.create = create;
+            this.load = load;
+            this.read = read;
+        }
+
+        static TrafficMix parse(String spec) {
+            int create = 0;
+            int load = 0;
+            int read = 0;
+            for (String part : spec.split(",")) {
+                String[] weight = part.split(":");
+                int value = Integer.parseInt(weight[1].trim());
+                switch (weight[0].trim()) {
+                    case "create" -> create = value;
+                    case "load" -> load = value;
+                    case "read" -> read = value;
+                    default -> throw new IllegalArgumentException("Unknown traffic kind: " + weight[0]);
+                }
+            }
+            if (create + load + read <= 0) {
+                throw new IllegalArgumentException("Traffic mix needs a positive weight: " + spec);
+            }
+            return new TrafficMix(create, load, read);
+        }
+
+        @Override
+        public String toString() {
+            return "create:" + create + ",load:" + load + ",read:" + read;
+        }
+    }
+
+    private static final class Workload {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String prefix;
+        private final int boxes;
+        private final int items;
+        private final TrafficMix mix;
+
+        private Workload(HttpClient client, String baseUrl, String prefix, int boxes, int items, TrafficMix mix) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.prefix = prefix;
+            this.boxes = boxes;
+            this.items = items;
+            this.mix = mix;
+        }
+
+        void drive(LatencyRecorder recorder, int concurrency, int seconds) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+            for (int worker = 0; worker < concurrency; worker++) {
+                int id = worker;
+                workers.submit(() -> {
+                    int created = 0;
+                    while (System.nanoTime() < deadline) {
+                        int draw = ThreadLocalRandom.current().nextInt(mix.create + mix.load + mix.read);
+                        if (draw < mix.create) {
+                            create(recorder, id, created++);
+                        } else if (draw < mix.create + mix.load) {
+                            loadAndUnload(recorder, id);
+                        } else {
+                            read(recorder);
+                        }
+                    }
+                    return null;
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        }
+
+        private void create(LatencyRecorder recorder, int worker, int sequence) {
+            String txref = prefix + "C" + worker + "_" + sequence;
+            timed(recorder, "POST /api/boxes", post(baseUrl,
+                    "{\"txref\":\"" + txref + "\",\"weightLimit\":500,\"batteryCapacity\":100}"));
+        }
+
+        // Two generated items weigh at most 400, so the worker's 500 limit box always accepts them
+        private void loadAndUnload(LatencyRecorder recorder, int worker) {
+            String txref = workerTxref(prefix, worker);
+            String codes = "\"MED_001\",\"MED_003\"";
+            if (items > 1) {
+                int first = ThreadLocalRandom.current().nextInt(items);
+                codes = "\"" + FleetDataGenerator.itemCodeOf(prefix, first) + "\",\""
+                        + FleetDataGenerator.itemCodeOf(prefix, (first + 1) % items) + "\"";
+            }
+            timed(recorder, "POST /{txref}/load", post(baseUrl + "/" + txref + "/load", "{\"itemCodes\":[" + codes + "]}"));
+            timed(recorder, "POST /{txref}/unload", post(baseUrl + "/" + txref + "/unload", ""));
+        }
+
+        private void read(LatencyRecorder recorder) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (boxes > 0 && random.nextBoolean()) {
+                String txref = FleetDataGenerator.txrefOf(prefix, random.nextInt(boxes));
+                timed(recorder, "GET /{txref}", get(baseUrl + "/" + txref));
+            } else {
+                timed(recorder, "GET /available", get(baseUrl + "/available?limit=100"));
+            }
+        }
+
+        private void timed(LatencyRecorder recorder, String endpoint, HttpRequest request) {
+            long start = System.nanoTime();
+            int status = send(client, request);
+            recorder.record(endpoint, System.nanoTime() - start, status >= 200 && status < 300);
+        }
+    }
+}
\ No newline at end of file
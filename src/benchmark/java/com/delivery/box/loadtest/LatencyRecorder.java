@@ -0,0 +1,59 @@
+package com.delivery.box.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency samples and error counts collected by the load-test workers
+public class LatencyRecorder {
+
+    private final Map<String, Queue<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long nanos, boolean success) {
+        samples.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>()).add(nanos);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    public void reset() {
+        samples.clear();
+        errors.clear();
+    }
+
+    // Throughput over the measured window and latency percentiles in milliseconds, one row per endpoint
+    public void report(String title, double elapsedSeconds, PrintStream out) {
+        out.println();
+        out.println(title);
+        out.printf("%-28s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+        new TreeMap<>(samples).forEach((endpoint, queue) -> {
+            long[] sorted = queue.stream().mapToLong(Long::longValue).sorted().toArray();
+            long failed = errors.containsKey(endpoint) ? errors.get(endpoint).sum() : 0;
+            out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                    endpoint, sorted.length, failed, sorted.length / elapsedSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999));
+        });
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new TreeMap<>();
+        Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .forEach(arg -> options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1)));
+        return options;
+    }
+}
\ No newline at end of file
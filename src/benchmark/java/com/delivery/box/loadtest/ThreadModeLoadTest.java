@@ -0,0 +1,126 @@
+package com.delivery.box.loadtest;
+
+import com.delivery.box.BoxDeliveryApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Compares platform-thread and virtual-thread request handling for loadBox and getAvailableBoxes.
+// Each mode starts the application on a random port against the H2 test database and is driven by
+// the same closed-loop client: half the workers load and unload their own box, half page through
+// available boxes.
+//   mvn -P benchmark,java21 test-compile exec:exec \
+//       -Dbenchmark.main=com.delivery.box.loadtest.ThreadModeLoadTest \
+//       -Dbenchmark.args="--concurrency=400 --duration=30 --warmup=5 --modes=platform,virtual"
+// Virtual mode is skipped when the JVM is older than 21.
+public class ThreadModeLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LatencyRecorder.parseArgs(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        String[] modes = options.getOrDefault("modes", "platform,virtual").split(",");
+
+        for (String mode : modes) {
+            if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+                System.out.println("Skipping virtual mode: requires Java 21, running " + Runtime.version());
+                continue;
+            }
+            run(mode, concurrency, warmupSeconds, durationSeconds);
+        }
+    }
+
+    private static void run(String mode, int concurrency, int warmupSeconds, int durationSeconds) throws Exception {
+        List<String> profiles = new ArrayList<>(List.of("test"));
+        if (mode.equals("virtual")) {
+            profiles.add("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BoxDeliveryApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;LOCK_TIMEOUT=10000",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/boxes";
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newFixedThreadPool(8))
+                    .build();
+
+            for (int worker = 0; worker < concurrency; worker++) {
+                send(client, post(baseUrl, "{\"txref\":\"LT_" + worker + "\",\"weightLimit\":500,\"batteryCapacity\":100}"));
+            }
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            drive(client, baseUrl, recorder, concurrency, warmupSeconds);
+            recorder.reset();
+            long start = System.nanoTime();
+            drive(client, baseUrl, recorder, concurrency, durationSeconds);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            recorder.report(mode + " threads, " + concurrency + " concurrent clients", elapsed, System.out);
+        }
+    }
+
+    private static void drive(HttpClient client, String baseUrl, LatencyRecorder recorder,
+                              int concurrency, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int worker = 0; worker < concurrency; worker++) {
+            String txref = "LT_" + worker;
+            boolean loader = worker % 2 == 0;
+            workers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (loader) {
+                        timed(client, recorder, "POST /{txref}/load",
+                                post(baseUrl + "/" + txref + "/load", "{\"itemCodes\":[\"MED_001\",\"MED_003\"]}"));
+                        timed(client, recorder, "POST /{txref}/unload", post(baseUrl + "/" + txref + "/unload", ""));
+                    } else {
+                        timed(client, recorder, "GET /available",
+                                HttpRequest.newBuilder(URI.create(baseUrl + "/available?limit=100")).GET().build());
+                    }
+                }
+                return null;
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private static void timed(HttpClient client, LatencyRecorder recorder, String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        int status = send(client, request);
+        recorder.record(endpoint, System.nanoTime() - start, status >= 200 && status < 300);
+    }
+
+    private static int send(HttpClient client, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception ex) {
+            return -1;
+        }
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
\ No newline at end of file
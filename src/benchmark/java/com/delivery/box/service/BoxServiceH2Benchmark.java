@@ -0,0 +1,95 @@
+package com.delivery.box.service;
+
+import com.delivery.box.BoxDeliveryApplication;
+import com.delivery.box.dto.request.BoxRequest;
+import com.delivery.box.dto.request.LoadItemsRequest;
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.entity.Item;
+import com.delivery.box.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BoxService against the in-memory H2 test database (test profile, no web layer):
+// mvn -P benchmark test-compile exec:exec -Dbenchmark.args=BoxServiceH2Benchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoxServiceH2Benchmark {
+
+    private static final String LOADED_TXREF = "BENCH_LOADED";
+    private static final String EMPTY_TXREF = "BENCH_EMPTY";
+
+    @Param({"10", "100", "1000"})
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private BoxService boxService;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private LoadItemsRequest loadRequest;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BoxDeliveryApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+        boxService = context.getBean(BoxService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = context.getBean(EntityManager.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+
+        List<Item> items = new ArrayList<>(itemCount);
+        List<String> codes = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item(null, "Bench-" + i, 400.0 / itemCount, "BENCH_" + i));
+            codes.add("BENCH_" + i);
+        }
+        itemRepository.saveAll(items);
+        loadRequest = new LoadItemsRequest(codes);
+
+        boxService.createBox(new BoxRequest(LOADED_TXREF, 500.0, 100, null, itemCount));
+        boxService.createBox(new BoxRequest(EMPTY_TXREF, 500.0, 100, null, itemCount));
+        boxService.loadBox(LOADED_TXREF, loadRequest);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BoxResponse getBox() {
+        return boxService.getBox(LOADED_TXREF);
+    }
+
+    @Benchmark
+    public List<BoxResponse> getAvailableBoxesPage() {
+        return boxService.getAvailableBoxes(null, null, null, 100);
+    }
+
+    // Full load path (lookup, item resolution, weight check, flush), rolled back so every invocation loads the same empty box
+    @Benchmark
+    public BoxResponse loadBoxRolledBack() {
+        return transactionTemplate.execute(status -> {
+            BoxResponse response = boxService.loadBox(EMPTY_TXREF, loadRequest);
+            entityManager.flush();
+            status.setRollbackOnly();
+            return response;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.entity.Box;
+import com.delivery.box.entity.BoxLoadLine;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.entity.Item;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Pure-Java BoxService paths, no database: mvn -P benchmark test-compile exec:exec -Dbenchmark.args=BoxServiceMappingBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoxServiceMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int itemCount;
+
+    private final BoxService boxService = new BoxService(null, null, null, null, null, null);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private Box loadedBox;
+    private Box emptyBox;
+    private Map<Item, Integer> items;
+    private BoxResponse loadedResponse;
+
+    @Setup
+    public void setUp() {
+        items = new LinkedHashMap<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.put(new Item((long) i, "Item-" + i, 400.0 / itemCount, "BENCH_" + i), 1);
+        }
+
+        loadedBox = newBox(1L, "BENCH_LOADED");
+        long lineId = 0;
+        for (Item item : items.keySet()) {
+            loadedBox.getLoadLines().add(new BoxLoadLine(lineId++, loadedBox, item, 1, item.getWeight(), item.getVolume()));
+        }
+        loadedBox.setCurrentWeight(400.0);
+        loadedBox.setUsedSlots(itemCount);
+        loadedBox.setState(BoxState.LOADED);
+        loadedResponse = boxService.mapToBoxResponse(loadedBox);
+
+        emptyBox = newBox(2L, "BENCH_EMPTY");
+    }
+
+    // addItems mutates the box, so every invocation starts from an empty one
+    @Setup(Level.Invocation)
+    public void resetEmptyBox() {
+        emptyBox.getLoadLines().clear();
+        emptyBox.setCurrentWeight(0.0);
+        emptyBox.setCurrentVolume(0.0);
+        emptyBox.setUsedSlots(0);
+        emptyBox.setState(BoxState.IDLE);
+    }
+
+    @Benchmark
+    public BoxResponse mapToBoxResponse() {
+        return boxService.mapToBoxResponse(loadedBox);
+    }
+
+    @Benchmark
+    public Double calculateCurrentWeight() {
+        return boxService.calculateCurrentWeight(loadedBox);
+    }
+
+    @Benchmark
+    public Box addItems() {
+        boxService.addItems(emptyBox, items);
+        return emptyBox;
+    }
+
+    @Benchmark
+    public byte[] serializeBoxResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(loadedResponse);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeBoxResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(boxService.mapToBoxResponse(loadedBox));
+    }
+
+    private Box newBox(Long id, String txref) {
+        Box box = new Box();
+        box.setId(id);
+        box.setTxref(txref);
+        box.setWeightLimit(500.0);
+        box.setSlotLimit(itemCount);
+        box.setBatteryCapacity(100);
+        box.setState(BoxState.IDLE);
+        box.setLoadLines(new ArrayList<>());
+        return box;
+    }
+}
\ No newline at end of file
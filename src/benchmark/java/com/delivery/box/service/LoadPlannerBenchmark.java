@@ -0,0 +1,51 @@
+package com.delivery.box.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// mvn -P benchmark test-compile exec:exec -Dbenchmark.args=LoadPlannerBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoadPlannerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int items;
+
+    @Param({"100", "5000"})
+    public int boxes;
+
+    @Param({"FIRST_FIT_DECREASING", "BEST_FIT_DECREASING"})
+    public PackingStrategy strategy;
+
+    private double[] itemWeights;
+    private double[] itemVolumes;
+    private double[] boxCapacities;
+    private double[] boxVolumes;
+    private int[] boxSlots;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        itemWeights = random.doubles(items, 5.0, 150.0).toArray();
+        boxCapacities = random.doubles(boxes, 100.0, 500.0).toArray();
+        itemVolumes = random.doubles(items, 10.0, 1000.0).toArray();
+        boxVolumes = random.doubles(boxes, 1000.0, 8000.0).toArray();
+        boxSlots = random.ints(boxes, 2, 20).toArray();
+    }
+
+    @Benchmark
+    public int[] plan() {
+        return LoadPlanner.plan(itemWeights, boxCapacities, strategy);
+    }
+
+    @Benchmark
+    public int[] planWithVolumeAndSlots() {
+        return LoadPlanner.plan(itemWeights, itemVolumes, boxCapacities, boxVolumes, boxSlots, strategy);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.delivery.box.cache;
+
+import com.delivery.box.dto.response.BatteryLevelResponse;
+import lombok.Value;
+
+// Battery level with the ETag of the row version it was read at, equal to that version's BoxSnapshot ETag
+@Value
+public class BatterySnapshot {
+    BatteryLevelResponse response;
+    String etag;
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.delivery.box.cache;
+
+import com.delivery.box.dto.response.BoxResponse;
+import lombok.Value;
+
+// Cached, shared view of a box. The response is handed to every reader as-is and must not be mutated.
+@Value
+public class BoxSnapshot {
+    BoxResponse response;
+    // Derived from the box id and @Version, so any committed change to the row yields a new tag
+    String etag;
+}
\ No newline at end of file
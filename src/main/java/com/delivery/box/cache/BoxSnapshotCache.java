@@ -0,0 +1,99 @@
+package com.delivery.box.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+// Txref-keyed BoxSnapshots for the hot box read endpoints. Every write path in BoxService evicts
+// the boxes it touches.
+@Component
+public class BoxSnapshotCache {
+
+    private static final int EVICTION_STRIPES = 64;
+
+    private final Cache<String, BoxSnapshot> cache;
+    // Eviction generation per stripe of txrefs, see get()
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+
+    public BoxSnapshotCache(MeterRegistry meterRegistry,
+                            @Value("${box.cache.snapshots.max-size:10000}") long maxSize,
+                            @Value("${box.cache.snapshots.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "box-snapshots");
+    }
+
+    // Loads outside the cache's locks: Cache.get(key, loader) would run the database read inside a
+    // synchronized map bin, pinning a virtual thread's carrier for the duration of the query. A
+    // snapshot loaded while its txref was evicted is returned but not cached, so a read racing a
+    // write never caches the state from before it.
+    public BoxSnapshot get(String txref, Function<String, BoxSnapshot> loader) {
+        BoxSnapshot cached = cache.getIfPresent(txref);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripeOf(txref);
+        long generation = evictions.get(stripe);
+        BoxSnapshot loaded = loader.apply(txref);
+        cache.asMap().compute(txref, (key, current) ->
+                current == null && evictions.get(stripe) == generation ? loaded : current);
+        return loaded;
+    }
+
+    public Optional<BoxSnapshot> getIfPresent(String txref) {
+        return Optional.ofNullable(cache.getIfPresent(txref));
+    }
+
+    public void evict(String txref) {
+        evict(List.of(txref));
+    }
+
+    // Evicts now and again once the surrounding transaction completes, so a reader racing the
+    // write cannot leave a stale or rolled-back snapshot behind
+    public void evict(Collection<String> txrefs) {
+        List<String> keys = List.copyOf(txrefs);
+        invalidate(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(keys);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        for (int stripe = 0; stripe < EVICTION_STRIPES; stripe++) {
+            evictions.incrementAndGet(stripe);
+        }
+        cache.invalidateAll();
+    }
+
+    // The generation is bumped before the entry is removed, so a concurrent get() either sees the
+    // new generation or has its entry removed here
+    private void invalidate(List<String> txrefs) {
+        txrefs.forEach(txref -> evictions.incrementAndGet(stripeOf(txref)));
+        cache.invalidateAll(txrefs);
+    }
+
+    private static int stripeOf(String txref) {
+        return Math.floorMod(txref.hashCode(), EVICTION_STRIPES);
+    }
+}
\ No newline at end of file
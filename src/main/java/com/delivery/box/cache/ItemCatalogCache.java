@@ -0,0 +1,104 @@
+package com.delivery.box.cache;
+
+import com.delivery.box.entity.Item;
+import com.delivery.box.repository.ItemRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Read-through cache of catalogue items by code. Only found items are cached, so a code that
+// does not exist yet is looked up again on every miss.
+@Component
+@Slf4j
+public class ItemCatalogCache {
+
+    private static final int WARM_UP_PAGE_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final Cache<String, Item> cache;
+    private final long maxSize;
+    private final boolean warmUp;
+
+    public ItemCatalogCache(ItemRepository itemRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${box.cache.items.max-size:100000}") long maxSize,
+                            @Value("${box.cache.items.expire-after-write:1h}") Duration expireAfterWrite,
+                            @Value("${box.cache.items.warm-up:false}") boolean warmUp) {
+        this.itemRepository = itemRepository;
+        this.maxSize = maxSize;
+        this.warmUp = warmUp;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items");
+    }
+
+    // Goes through getAll, which runs the loader outside the cache's locks (see BoxSnapshotCache.get)
+    public Optional<Item> findByCode(String code) {
+        return Optional.ofNullable(findAllByCodes(List.of(code)).get(code));
+    }
+
+    // Misses are fetched together with the chunked IN lookup of ItemRepository.findAllByCodes
+    public Map<String, Item> findAllByCodes(Collection<String> codes) {
+        return cache.getAll(codes, missing -> itemRepository.findAllByCodes(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(Item::getCode, Function.identity())));
+    }
+
+    public boolean existsByCode(String code) {
+        return cache.getIfPresent(code) != null || itemRepository.existsByCode(code);
+    }
+
+    // Evicts now and again once the surrounding transaction completes, so a lookup racing the
+    // write cannot leave an uncommitted or rolled-back item behind
+    public void evict(String code) {
+        cache.invalidate(code);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(code);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (!warmUp) {
+            return;
+        }
+
+        long afterId = 0L;
+        List<Item> page;
+        do {
+            page = itemRepository.findItemsAfter(afterId, 0.0, Double.MAX_VALUE, PageRequest.of(0, WARM_UP_PAGE_SIZE));
+            page.forEach(item -> cache.put(item.getCode(), item));
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+        } while (page.size() == WARM_UP_PAGE_SIZE && cache.estimatedSize() < maxSize);
+
+        log.info("Warmed up item cache with {} items", cache.estimatedSize());
+    }
+}
\ No newline at end of file
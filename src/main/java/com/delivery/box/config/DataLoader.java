@@ -7,45 +7,58 @@ import com.delivery.box.repository.BoxRepository;
 import com.delivery.box.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 @Profile("!test")
 public class DataLoader implements CommandLineRunner {
 
+    private static final String SYNTHETIC_PREFIX = "SYN";
+
     private final BoxRepository boxRepository;
     private final ItemRepository itemRepository;
+    private final FleetDataGenerator fleetDataGenerator;
+
+    // Extra generated rows for an empty database, e.g. --box.seed.synthetic-boxes=100000
+    @Value("${box.seed.synthetic-boxes:0}")
+    private int syntheticBoxes;
+
+    @Value("${box.seed.synthetic-items:0}")
+    private int syntheticItems;
+
+    @Value("${box.seed.profile:IDLE}")
+    private FleetProfile profile;
 
     @Override
     public void run(String... args) throws Exception {
+        boolean empty = itemRepository.count() == 0 && boxRepository.count() == 0;
         loadItems();
         loadBoxes();
+        if (empty && (syntheticBoxes > 0 || syntheticItems > 0)) {
+            fleetDataGenerator.generate(SYNTHETIC_PREFIX, syntheticBoxes, syntheticItems, profile, 42L);
+        }
         log.info("Sample data loaded successfully");
     }
 
     private void loadItems() {
         if (itemRepository.count() == 0) {
-            Item item1 = new Item(null, "Paracetamol", 50.0, "MED_001");
-            Item item2 = new Item(null, "Ibuprofen", 75.0, "MED_002");
-            Item item3 = new Item(null, "Bandage", 30.0, "MED_003");
-            Item item4 = new Item(null, "Thermometer", 100.0, "MED_004");
-            Item item5 = new Item(null, "Antiseptic", 120.0, "MED_005");
-            Item item6 = new Item(null, "Face-Mask", 25.0, "MED_006");
-            Item item7 = new Item(null, "Hand-Sanitizer", 150.0, "MED_007");
-            Item item8 = new Item(null, "Vitamin-C", 80.0, "MED_008");
-
-            itemRepository.save(item1);
-            itemRepository.save(item2);
-            itemRepository.save(item3);
-            itemRepository.save(item4);
-            itemRepository.save(item5);
-            itemRepository.save(item6);
-            itemRepository.save(item7);
-            itemRepository.save(item8);
+            itemRepository.saveAll(List.of(
+                    new Item(null, "Paracetamol", 50.0, "MED_001", 120.0),
+                    new Item(null, "Ibuprofen", 75.0, "MED_002", 150.0),
+                    new Item(null, "Bandage", 30.0, "MED_003", 300.0),
+                    new Item(null, "Thermometer", 100.0, "MED_004", 250.0),
+                    new Item(null, "Antiseptic", 120.0, "MED_005", 400.0),
+                    new Item(null, "Face-Mask", 25.0, "MED_006", 200.0),
+                    new Item(null, "Hand-Sanitizer", 150.0, "MED_007", 500.0),
+                    new Item(null, "Vitamin-C", 80.0, "MED_008", 180.0)
+            ));
 
             log.info("Loaded {} items", itemRepository.count());
         }
@@ -53,17 +66,13 @@ public class DataLoader implements CommandLineRunner {
 
     private void loadBoxes() {
         if (boxRepository.count() == 0) {
-            Box box1 = new Box(null, "BOX001", 500.0, 100, BoxState.IDLE, null);
-            Box box2 = new Box(null, "BOX002", 400.0, 85, BoxState.IDLE, null);
-            Box box3 = new Box(null, "BOX003", 300.0, 50, BoxState.IDLE, null);
-            Box box4 = new Box(null, "BOX004", 450.0, 20, BoxState.IDLE, null);
-            Box box5 = new Box(null, "BOX005", 500.0, 15, BoxState.IDLE, null);
-
-            boxRepository.save(box1);
-            boxRepository.save(box2);
-            boxRepository.save(box3);
-            boxRepository.save(box4);
-            boxRepository.save(box5);
+            boxRepository.saveAll(List.of(
+                    new Box(null, "BOX001", 500.0, 100, BoxState.IDLE, 0.0, Box.DEFAULT_VOLUME_LIMIT, 0.0, Box.DEFAULT_SLOT_LIMIT, 0, null, null),
+                    new Box(null, "BOX002", 400.0, 85, BoxState.IDLE, 0.0, Box.DEFAULT_VOLUME_LIMIT, 0.0, Box.DEFAULT_SLOT_LIMIT, 0, null, null),
+                    new Box(null, "BOX003", 300.0, 50, BoxState.IDLE, 0.0, Box.DEFAULT_VOLUME_LIMIT, 0.0, Box.DEFAULT_SLOT_LIMIT, 0, null, null),
+                    new Box(null, "BOX004", 450.0, 20, BoxState.IDLE, 0.0, Box.DEFAULT_VOLUME_LIMIT, 0.0, Box.DEFAULT_SLOT_LIMIT, 0, null, null),
+                    new Box(null, "BOX005", 500.0, 15, BoxState.IDLE, 0.0, Box.DEFAULT_VOLUME_LIMIT, 0.0, Box.DEFAULT_SLOT_LIMIT, 0, null, null)
+            ));
 
             log.info("Loaded {} boxes", boxRepository.count());
         }
@@ -0,0 +1,120 @@
+package com.delivery.box.config;
+
+import com.delivery.box.entity.Box;
+import com.delivery.box.entity.BoxLoadLine;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.entity.Item;
+import com.delivery.box.repository.BoxRepository;
+import com.delivery.box.repository.ItemRepository;
+import com.delivery.box.service.BoxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Generates a synthetic catalogue and fleet for load tests and large local databases. Rows are
+// persisted CHUNK_SIZE per transaction with saveAll, so pooled sequence ids and hibernate.jdbc.batch_size
+// turn each chunk into a few sequence calls and batched inserts (cargo load lines included).
+// The same prefix and seed always produce the same data; txrefOf and itemCodeOf name the rows.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FleetDataGenerator {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_ITEM_WEIGHT = 200;
+    private static final int MAX_ITEM_VOLUME = 1000;
+    private static final int MAX_QUANTITY = 3;
+
+    private final BoxRepository boxRepository;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public static String txrefOf(String prefix, int index) {
+        return String.format("%s%07d", prefix, index);
+    }
+
+    public static String itemCodeOf(String prefix, int index) {
+        return String.format("%s_%07d", prefix, index);
+    }
+
+    // Items are generated first so LOADED and DELIVERING boxes can carry them
+    public void generate(String prefix, int boxCount, int itemCount, FleetProfile profile, long seed) {
+        long start = System.nanoTime();
+        Random random = new Random(seed);
+
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int from = 0; from < itemCount; from += CHUNK_SIZE) {
+            List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, itemCount); i++) {
+                chunk.add(new Item(null, "Synthetic-" + i, 1.0 + random.nextInt(MAX_ITEM_WEIGHT), itemCodeOf(prefix, i),
+                        1.0 + random.nextInt(MAX_ITEM_VOLUME)));
+            }
+            items.addAll(transactionTemplate.execute(status -> itemRepository.saveAll(chunk)));
+        }
+
+        for (int from = 0; from < boxCount; from += CHUNK_SIZE) {
+            List<Box> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, boxCount); i++) {
+                chunk.add(generateBox(txrefOf(prefix, i), profile, items, random));
+            }
+            transactionTemplate.executeWithoutResult(status -> boxRepository.saveAll(chunk));
+        }
+
+        log.info("Generated {} items and {} {} boxes in {} ms", itemCount, boxCount, profile,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Box generateBox(String txref, FleetProfile profile, List<Item> items, Random random) {
+        BoxState state = profile.stateFor(random.nextInt(100));
+        double weightLimit = 100.0 + random.nextInt(401);
+        boolean carriesCargo = state == BoxState.LOADED || state == BoxState.DELIVERING;
+        // Boxes out on a delivery were loadable when they left
+        int battery = carriesCargo
+                ? BoxService.MIN_LOADING_BATTERY + random.nextInt(101 - BoxService.MIN_LOADING_BATTERY)
+                : random.nextInt(101);
+
+        Box box = new Box(null, txref, weightLimit, battery, state, 0.0,
+                Box.DEFAULT_VOLUME_LIMIT, 0.0, Box.DEFAULT_SLOT_LIMIT, 0, new ArrayList<>(), null);
+        if (!carriesCargo || items.isEmpty()) {
+            return box;
+        }
+
+        Map<Item, BoxLoadLine> lines = new LinkedHashMap<>();
+        double weight = 0.0;
+        double volume = 0.0;
+        int units = 0;
+        double target = weightLimit * (profile.getFillMin()
+                + random.nextDouble() * (profile.getFillMax() - profile.getFillMin()));
+        // Bounded attempts: draws that would overflow the box are skipped
+        for (int attempt = 0; attempt < 20 && weight < target; attempt++) {
+            Item item = items.get(random.nextInt(items.size()));
+            int quantity = 1 + random.nextInt(MAX_QUANTITY);
+            double lineWeight = item.getWeight() * quantity;
+            double lineVolume = item.getVolume() * quantity;
+            if (weight + lineWeight > weightLimit || volume + lineVolume > box.getVolumeLimit()
+                    || units + quantity > box.getSlotLimit()) {
+                continue;
+            }
+            BoxLoadLine line = lines.computeIfAbsent(item, key -> new BoxLoadLine(null, box, key, 0, 0.0, 0.0));
+            line.setQuantity(line.getQuantity() + quantity);
+            line.setWeight(line.getWeight() + lineWeight);
+            line.setVolume(line.getVolume() + lineVolume);
+            weight += lineWeight;
+            volume += lineVolume;
+            units += quantity;
+        }
+
+        box.getLoadLines().addAll(lines.values());
+        box.setCurrentWeight(weight);
+        box.setCurrentVolume(volume);
+        box.setUsedSlots(units);
+        return box;
+    }
+}
\ No newline at end of file
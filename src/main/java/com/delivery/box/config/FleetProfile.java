@@ -0,0 +1,47 @@
+package com.delivery.box.config;
+
+import com.delivery.box.entity.BoxState;
+
+// State mix and cargo fill of a generated fleet. Shares are percentages of the boxes; LOADED and
+// DELIVERING boxes carry items filling fillMin..fillMax of their weight limit.
+public enum FleetProfile {
+    // Every box idle and empty: the whole fleet is a loading candidate
+    IDLE(100, 0, 0, 0, 0, 0.0, 0.0),
+    // Typical working day: half the fleet idle, the rest spread over the delivery cycle
+    MIXED(50, 20, 15, 5, 10, 0.3, 0.9),
+    // Peak hours: most boxes out with full cargo, few left to load
+    PEAK(20, 30, 40, 5, 5, 0.6, 1.0);
+
+    private static final BoxState[] STATES =
+            {BoxState.IDLE, BoxState.LOADED, BoxState.DELIVERING, BoxState.DELIVERED, BoxState.RETURNING};
+
+    private final int[] stateShares;
+    private final double fillMin;
+    private final double fillMax;
+
+    FleetProfile(int idle, int loaded, int delivering, int delivered, int returning, double fillMin, double fillMax) {
+        this.stateShares = new int[]{idle, loaded, delivering, delivered, returning};
+        this.fillMin = fillMin;
+        this.fillMax = fillMax;
+    }
+
+    // Maps a uniform draw in [0, 100) onto the state shares
+    public BoxState stateFor(int percentile) {
+        int cumulative = 0;
+        for (int i = 0; i < STATES.length; i++) {
+            cumulative += stateShares[i];
+            if (percentile < cumulative) {
+                return STATES[i];
+            }
+        }
+        return BoxState.IDLE;
+    }
+
+    public double getFillMin() {
+        return fillMin;
+    }
+
+    public double getFillMax() {
+        return fillMax;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.delivery.box.config;
+
+import com.delivery.box.metrics.QueryCountInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountCustomizer(QueryCountInspector queryCountInspector) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInspector);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.delivery.box.config;
+
+import com.delivery.box.metrics.QueryCountInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final QueryCountInterceptor queryCountInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryCountInterceptor).addPathPatterns("/api/**");
+    }
+}
\ No newline at end of file
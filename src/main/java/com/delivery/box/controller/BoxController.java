@@ -1,40 +1,158 @@
 package com.delivery.box.controller;
 
+import com.delivery.box.cache.BatterySnapshot;
+import com.delivery.box.cache.BoxSnapshot;
 import com.delivery.box.dto.request.BoxRequest;
+import com.delivery.box.dto.request.BoxView;
+import com.delivery.box.dto.request.BulkLoadRequest;
+import com.delivery.box.dto.request.BulkTransitionRequest;
 import com.delivery.box.dto.request.LoadItemsRequest;
+import com.delivery.box.dto.request.LoadPlanRequest;
+import com.delivery.box.dto.response.BatteryHistoryResponse;
 import com.delivery.box.dto.response.BatteryLevelResponse;
 import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.dto.response.BulkLoadResponse;
+import com.delivery.box.dto.response.BulkTransitionResponse;
 import com.delivery.box.dto.response.ItemResponse;
+import com.delivery.box.dto.response.LoadPlanResponse;
+import com.delivery.box.dto.response.TelemetryIngestResponse;
+import com.delivery.box.event.BoxEventFeed;
+import com.delivery.box.exception.InvalidOperationException;
+import com.delivery.box.service.BatteryHistoryService;
+import com.delivery.box.service.BatteryTelemetryService;
+import com.delivery.box.service.BoxLifecycleService;
 import com.delivery.box.service.BoxService;
+import com.delivery.box.service.BoxTransition;
+import com.delivery.box.service.LoadPlanningService;
+import com.delivery.box.service.StreamingExportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/boxes")
 @RequiredArgsConstructor
 public class BoxController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_PAGE_SIZE = 1000;
+    static final String NDJSON = "application/x-ndjson";
+
     private final BoxService boxService;
+    private final LoadPlanningService loadPlanningService;
+    private final BoxLifecycleService boxLifecycleService;
+    private final BatteryTelemetryService batteryTelemetryService;
+    private final BatteryHistoryService batteryHistoryService;
+    private final StreamingExportService streamingExportService;
+    private final BoxEventFeed boxEventFeed;
+
+    @Value("${box.events.timeout-ms:1800000}")
+    private long eventsTimeoutMillis;
 
     @PostMapping
-    public ResponseEntity<BoxResponse> createBox(@Valid @RequestBody BoxRequest request) {
-        BoxResponse response = boxService.createBox(request);
+    public ResponseEntity<BoxResponse> createBox(
+            @Valid @RequestBody BoxRequest request,
+            @RequestParam(defaultValue = "full") String view) {
+        // Parsed before the write, so a bad view is rejected with nothing changed
+        BoxView boxView = BoxView.of(view);
+        BoxResponse response = boxService.createBox(request, boxView);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @PostMapping("/{txref}/load")
     public ResponseEntity<BoxResponse> loadBox(
             @PathVariable String txref,
-            @Valid @RequestBody LoadItemsRequest request) {
-        BoxResponse response = boxService.loadBox(txref, request);
+            @Valid @RequestBody LoadItemsRequest request,
+            @RequestParam(defaultValue = "full") String view) {
+        BoxView boxView = BoxView.of(view);
+        BoxResponse response = boxService.loadBox(txref, request, boxView);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/load")
+    public ResponseEntity<BulkLoadResponse> loadBoxes(@Valid @RequestBody BulkLoadRequest request) {
+        BulkLoadResponse response = boxService.loadBoxes(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/plan")
+    public ResponseEntity<LoadPlanResponse> planLoad(@Valid @RequestBody LoadPlanRequest request) {
+        LoadPlanResponse response = loadPlanningService.planLoad(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{txref}/dispatch")
+    public ResponseEntity<BoxResponse> dispatchBox(
+            @PathVariable String txref,
+            @RequestParam(defaultValue = "full") String view) {
+        BoxView boxView = BoxView.of(view);
+        BoxResponse response = boxLifecycleService.transition(txref, BoxTransition.DISPATCH, boxView);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{txref}/deliver")
+    public ResponseEntity<BoxResponse> deliverBox(
+            @PathVariable String txref,
+            @RequestParam(defaultValue = "full") String view) {
+        BoxView boxView = BoxView.of(view);
+        BoxResponse response = boxLifecycleService.transition(txref, BoxTransition.DELIVER, boxView);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{txref}/return")
+    public ResponseEntity<BoxResponse> returnBox(
+            @PathVariable String txref,
+            @RequestParam(defaultValue = "full") String view) {
+        BoxView boxView = BoxView.of(view);
+        BoxResponse response = boxLifecycleService.transition(txref, BoxTransition.RETURN, boxView);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{txref}/unload")
+    public ResponseEntity<BoxResponse> unloadBox(
+            @PathVariable String txref,
+            @RequestParam(defaultValue = "full") String view) {
+        BoxView boxView = BoxView.of(view);
+        BoxResponse response = boxLifecycleService.transition(txref, BoxTransition.UNLOAD, boxView);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/transitions")
+    public ResponseEntity<BulkTransitionResponse> transitionBoxes(@Valid @RequestBody BulkTransitionRequest request) {
+        BulkTransitionResponse response = boxLifecycleService.transitionAll(request);
+        return ResponseEntity.ok(response);
+    }
+
+    // Accepts NDJSON battery readings; 202 once buffered, 429 when part of the batch was refused
+    @PostMapping(value = "/telemetry/battery", consumes = NDJSON)
+    public ResponseEntity<TelemetryIngestResponse> ingestBatteryTelemetry(InputStream body) throws IOException {
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        TelemetryIngestResponse response = batteryTelemetryService.ingest(lines);
+
+        if (response.getDropped() > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(response);
+        }
+        return ResponseEntity.accepted().body(response);
+    }
+
     @GetMapping("/{txref}/items")
     public ResponseEntity<List<ItemResponse>> getLoadedItems(@PathVariable String txref) {
         List<ItemResponse> items = boxService.getLoadedItems(txref);
@@ -42,20 +160,113 @@ public class BoxController {
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<BoxResponse>> getAvailableBoxes() {
-        List<BoxResponse> boxes = boxService.getAvailableBoxes();
-        return ResponseEntity.ok(boxes);
+    public ResponseEntity<List<BoxResponse>> getAvailableBoxes(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer minBattery,
+            @RequestParam(required = false) Double minRemainingCapacity,
+            @RequestParam(required = false) Double minRemainingVolume,
+            @RequestParam(required = false) Integer minFreeSlots,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "full") String view) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        BoxView boxView = BoxView.of(view);
+        List<BoxResponse> boxes = boxService.getAvailableBoxes(
+                after, minBattery, minRemainingCapacity, minRemainingVolume, minFreeSlots, pageSize).stream()
+                .map(box -> render(box, boxView))
+                .toList();
+
+        // A full page means there may be more; clients pass the header value back as "after"
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (boxes.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(boxes.get(boxes.size() - 1).getId()));
+        }
+        return response.body(boxes);
+    }
+
+    // Server-sent "box" events for the given txrefs and/or every availability-relevant change. Clients
+    // reconnect after box.events.timeout-ms; slow clients lose their oldest undelivered events.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToEvents(
+            @RequestParam(required = false) List<String> txrefs,
+            @RequestParam(defaultValue = "false") boolean availability) {
+        List<String> subscribedTxrefs = txrefs == null ? List.of() : txrefs;
+        if (subscribedTxrefs.isEmpty() && !availability) {
+            throw new InvalidOperationException("Subscribe to at least one txref or to availability changes");
+        }
+        if (subscribedTxrefs.size() > MAX_PAGE_SIZE) {
+            throw new InvalidOperationException("Cannot subscribe to more than " + MAX_PAGE_SIZE + " txrefs");
+        }
+
+        SseEmitter emitter = new SseEmitter(eventsTimeoutMillis);
+        BoxEventFeed.Subscription subscription = boxEventFeed.subscribe(subscribedTxrefs, availability,
+                (id, event) -> emitter.send(SseEmitter.event().id(String.valueOf(id)).name("box").data(event)),
+                emitter::complete);
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(ex -> subscription.cancel());
+        return emitter;
+    }
+
+    // Accept: application/x-ndjson streams every available box ordered by id, one per line, without paging
+    @GetMapping(value = "/available", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAvailableBoxes(
+            @RequestParam(required = false) Integer minBattery,
+            @RequestParam(required = false) Double minRemainingCapacity,
+            @RequestParam(required = false) Double minRemainingVolume,
+            @RequestParam(required = false) Integer minFreeSlots,
+            @RequestParam(defaultValue = "full") String view) {
+        BoxView boxView = BoxView.of(view);
+        StreamingResponseBody body = out -> streamingExportService.writeAvailableBoxes(
+                minBattery, minRemainingCapacity, minRemainingVolume, minFreeSlots, boxView, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
+    // Both box reads carry the snapshot ETag; a matching If-None-Match is answered with 304 and no body
     @GetMapping("/{txref}/battery")
-    public ResponseEntity<BatteryLevelResponse> getBatteryLevel(@PathVariable String txref) {
-        BatteryLevelResponse response = boxService.getBatteryLevel(txref);
+    public ResponseEntity<BatteryLevelResponse> getBatteryLevel(@PathVariable String txref, WebRequest webRequest) {
+        BatterySnapshot snapshot = boxService.getBatterySnapshot(txref);
+
+        // A buffered telemetry reading is newer than the snapshot's ETag, so it is served without one
+        Optional<Integer> bufferedLevel = batteryTelemetryService.getBufferedLevel(txref);
+        if (bufferedLevel.isPresent()) {
+            return ResponseEntity.ok(new BatteryLevelResponse(txref, bufferedLevel.get()));
+        }
+
+        if (webRequest.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(snapshot.getEtag()).body(snapshot.getResponse());
+    }
+
+    // from/to are epoch milliseconds (default: the last 24 hours), bucketMillis is widened when needed
+    @GetMapping("/{txref}/battery/history")
+    public ResponseEntity<BatteryHistoryResponse> getBatteryHistory(
+            @PathVariable String txref,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Long bucketMillis) {
+        BatteryHistoryResponse response = batteryHistoryService.getHistory(txref, from, to, bucketMillis);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{txref}")
-    public ResponseEntity<BoxResponse> getBox(@PathVariable String txref) {
-        BoxResponse response = boxService.getBox(txref);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<BoxResponse> getBox(
+            @PathVariable String txref,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest webRequest) {
+        BoxSnapshot snapshot = BoxView.of(view) == BoxView.SUMMARY
+                ? boxService.getBoxSummarySnapshot(txref)
+                : boxService.getBoxSnapshot(txref);
+        if (webRequest.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(snapshot.getEtag()).body(snapshot.getResponse());
+    }
+
+    // Responses are copied, never modified, since they may be shared snapshots
+    private static BoxResponse render(BoxResponse box, BoxView view) {
+        return view == BoxView.SUMMARY ? box.withItems(null) : box;
     }
 }
\ No newline at end of file
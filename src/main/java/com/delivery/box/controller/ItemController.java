@@ -1,14 +1,25 @@
 package com.delivery.box.controller;
 
 import com.delivery.box.dto.request.ItemRequest;
+import com.delivery.box.dto.response.ItemImportResponse;
 import com.delivery.box.dto.response.ItemResponse;
+import com.delivery.box.service.ItemImportFormat;
+import com.delivery.box.service.ItemImportService;
 import com.delivery.box.service.ItemService;
+import com.delivery.box.service.StreamingExportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -17,6 +28,8 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final StreamingExportService streamingExportService;
+    private final ItemImportService itemImportService;
 
     @PostMapping
     public ResponseEntity<ItemResponse> createItem(@Valid @RequestBody ItemRequest request) {
@@ -24,9 +37,43 @@ public class ItemController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // Bulk import; the body is read line by line and every rejected row is reported in the summary
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ItemImportResponse> importItemsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(itemImportService.importItems(reader(body), ItemImportFormat.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = BoxController.NDJSON)
+    public ResponseEntity<ItemImportResponse> importItemsNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(itemImportService.importItems(reader(body), ItemImportFormat.NDJSON));
+    }
+
     @GetMapping
-    public ResponseEntity<List<ItemResponse>> getAllItems() {
-        List<ItemResponse> items = itemService.getAllItems();
-        return ResponseEntity.ok(items);
+    public ResponseEntity<List<ItemResponse>> getAllItems(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Double minWeight,
+            @RequestParam(required = false) Double maxWeight,
+            @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, BoxController.MAX_PAGE_SIZE));
+        List<ItemResponse> items = itemService.getItems(after, minWeight, maxWeight, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (items.size() == pageSize) {
+            response.header(BoxController.NEXT_CURSOR_HEADER, String.valueOf(items.get(items.size() - 1).getId()));
+        }
+        return response.body(items);
+    }
+
+    // Accept: application/x-ndjson streams the whole catalogue ordered by id, one item per line
+    @GetMapping(produces = BoxController.NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamItems(
+            @RequestParam(required = false) Double minWeight,
+            @RequestParam(required = false) Double maxWeight) {
+        StreamingResponseBody body = out -> streamingExportService.writeItems(minWeight, maxWeight, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(BoxController.NDJSON)).body(body);
+    }
+
+    private static BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.delivery.box.dto.projection;
+
+import lombok.Value;
+
+// Columns of a box needed to answer a battery read and tag it with the row version
+@Value
+public class BoxBatteryView {
+    Long id;
+    String txref;
+    Integer batteryCapacity;
+    Long version;
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.delivery.box.dto.projection;
+
+import com.delivery.box.entity.BoxState;
+import lombok.Value;
+
+// The scalar columns of a box, without its load lines; the version tags single-box reads
+@Value
+public class BoxSummaryView {
+    Long id;
+    String txref;
+    Double weightLimit;
+    Integer batteryCapacity;
+    BoxState state;
+    Double currentWeight;
+    Double volumeLimit;
+    Double currentVolume;
+    Integer slotLimit;
+    Integer usedSlots;
+    Long version;
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.delivery.box.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of a battery telemetry NDJSON batch
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatteryReadingRequest {
+
+    @NotBlank(message = "Txref is required")
+    private String txref;
+
+    @NotNull(message = "Battery capacity is required")
+    @Min(value = 0, message = "Battery capacity must be between 0 and 100")
+    @Max(value = 100, message = "Battery capacity must be between 0 and 100")
+    private Integer batteryCapacity;
+
+    // Epoch milliseconds at the box; defaults to the time the reading is received
+    private Long recordedAt;
+}
\ No newline at end of file
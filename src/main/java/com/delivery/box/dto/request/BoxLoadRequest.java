@@ -0,0 +1,37 @@
+package com.delivery.box.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One box of a bulk load
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoxLoadRequest {
+
+    @NotBlank(message = "Txref is required")
+    private String txref;
+
+    // Same contract as LoadItemsRequest: single units by code and/or quantities
+    private List<String> itemCodes;
+
+    @Valid
+    private List<ItemQuantityRequest> items;
+
+    public BoxLoadRequest(String txref, List<String> itemCodes) {
+        this.txref = txref;
+        this.itemCodes = itemCodes;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Item codes list cannot be empty")
+    public boolean isAnyItemRequested() {
+        return (itemCodes != null && !itemCodes.isEmpty()) || (items != null && !items.isEmpty());
+    }
+}
\ No newline at end of file
@@ -24,4 +24,16 @@ public class BoxRequest {
     @Min(value = 0, message = "Battery capacity must be between 0 and 100")
     @Max(value = 100, message = "Battery capacity must be between 0 and 100")
     private Integer batteryCapacity;
+
+    // Optional, in cm3; defaults to Box.DEFAULT_VOLUME_LIMIT
+    @Min(value = 0, message = "Volume limit must be positive")
+    private Double volumeLimit;
+
+    // Optional, the number of item units the box holds; defaults to Box.DEFAULT_SLOT_LIMIT
+    @Min(value = 1, message = "Slot limit must be at least 1")
+    private Integer slotLimit;
+
+    public BoxRequest(String txref, Double weightLimit, Integer batteryCapacity) {
+        this(txref, weightLimit, batteryCapacity, null, null);
+    }
 }
\ No newline at end of file
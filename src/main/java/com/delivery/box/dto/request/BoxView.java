@@ -0,0 +1,20 @@
+package com.delivery.box.dto.request;
+
+import com.delivery.box.exception.InvalidOperationException;
+
+import java.util.Locale;
+
+// Representation of a box in responses: FULL embeds the loaded items, SUMMARY only the capacity aggregates
+public enum BoxView {
+    SUMMARY,
+    FULL;
+
+    // Parses the "view" query parameter, case-insensitively
+    public static BoxView of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidOperationException("View must be 'summary' or 'full', got '" + value + "'");
+        }
+    }
+}
\ No newline at end of file
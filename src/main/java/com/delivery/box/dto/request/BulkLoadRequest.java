@@ -0,0 +1,21 @@
+package com.delivery.box.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLoadRequest {
+
+    @NotEmpty(message = "Loads list cannot be empty")
+    private List<@Valid BoxLoadRequest> loads;
+
+    // true: all loads are applied or none; false: every valid load is applied
+    private boolean atomic;
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.delivery.box.dto.request;
+
+import com.delivery.box.service.BoxTransition;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionRequest {
+
+    @NotNull(message = "Transition is required")
+    private BoxTransition transition;
+
+    @NotEmpty(message = "Txrefs list cannot be empty")
+    private List<@NotBlank String> txrefs;
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.delivery.box.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Several units of one item code, loaded as a single load line
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemQuantityRequest {
+
+    @NotBlank(message = "Item code is required")
+    private String code;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 100000, message = "Quantity must not exceed 100000")
+    private Integer quantity;
+}
\ No newline at end of file
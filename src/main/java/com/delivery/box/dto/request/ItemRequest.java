@@ -21,4 +21,12 @@ public class ItemRequest {
     @NotBlank(message = "Code is required")
     @Pattern(regexp = "^[A-Z0-9_]+$", message = "Code can only contain uppercase letters, numbers and underscore")
     private String code;
+
+    // Per unit, in cm3; omitted means not tracked (0)
+    @Min(value = 0, message = "Volume must be positive")
+    private Double volume;
+
+    public ItemRequest(String name, Double weight, String code) {
+        this(name, weight, code, null);
+    }
 }
\ No newline at end of file
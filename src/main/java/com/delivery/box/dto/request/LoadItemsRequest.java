@@ -1,5 +1,7 @@
 package com.delivery.box.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +13,19 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class LoadItemsRequest {
-    @NotEmpty(message = "Item codes list cannot be empty")
+    // One unit per listed code; a repeated code adds a unit
     private List<String> itemCodes;
+
+    @Valid
+    private List<ItemQuantityRequest> items;
+
+    public LoadItemsRequest(List<String> itemCodes) {
+        this.itemCodes = itemCodes;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Item codes list cannot be empty")
+    public boolean isAnyItemRequested() {
+        return (itemCodes != null && !itemCodes.isEmpty()) || (items != null && !items.isEmpty());
+    }
 }
\ No newline at end of file
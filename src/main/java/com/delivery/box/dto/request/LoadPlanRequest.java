@@ -0,0 +1,23 @@
+package com.delivery.box.dto.request;
+
+import com.delivery.box.service.PackingStrategy;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadPlanRequest {
+
+    @NotEmpty(message = "Item codes list cannot be empty")
+    private List<String> itemCodes;
+
+    private PackingStrategy strategy = PackingStrategy.FIRST_FIT_DECREASING;
+
+    // Apply the plan as one atomic bulk load after computing it
+    private boolean execute;
+}
\ No newline at end of file
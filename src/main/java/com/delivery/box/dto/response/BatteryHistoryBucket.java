@@ -0,0 +1,17 @@
+package com.delivery.box.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatteryHistoryBucket {
+    // Epoch milliseconds
+    private long bucketStart;
+    private int minLevel;
+    private int maxLevel;
+    private double avgLevel;
+    private long readings;
+}
\ No newline at end of file
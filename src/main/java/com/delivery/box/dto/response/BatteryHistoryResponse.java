@@ -0,0 +1,18 @@
+package com.delivery.box.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatteryHistoryResponse {
+    private String txref;
+    private long from;
+    private long to;
+    private long bucketMillis;
+    private List<BatteryHistoryBucket> buckets;
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.delivery.box.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoxLoadResult {
+    private String txref;
+    private boolean loaded;
+    private String message;
+    private Double currentWeight;
+    private Double remainingCapacity;
+}
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.delivery.box.dto.response;
 
 import com.delivery.box.entity.BoxState;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
 
 import java.util.List;
 
@@ -18,5 +20,14 @@ public class BoxResponse {
     private BoxState state;
     private Double currentWeight;
     private Double remainingCapacity;
+    private Double volumeLimit;
+    private Double currentVolume;
+    private Double remainingVolume;
+    private Integer slotLimit;
+    private Integer usedSlots;
+    private Integer remainingSlots;
+    // Null, and omitted, in the summary view
+    @With
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<ItemResponse> items;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.delivery.box.dto.response;
+
+import com.delivery.box.entity.BoxState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoxTransitionResult {
+    private String txref;
+    private boolean transitioned;
+    private String message;
+    // State after the bulk transition, null when the box does not exist
+    private BoxState state;
+}
\ No newline at end of file
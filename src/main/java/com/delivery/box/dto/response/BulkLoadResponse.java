@@ -0,0 +1,17 @@
+package com.delivery.box.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLoadResponse {
+    private boolean atomic;
+    private int applied;
+    private int failed;
+    private List<BoxLoadResult> results;
+}
\ No newline at end of file
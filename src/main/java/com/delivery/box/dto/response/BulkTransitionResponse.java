@@ -0,0 +1,20 @@
+package com.delivery.box.dto.response;
+
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.service.BoxTransition;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionResponse {
+    private BoxTransition transition;
+    private BoxState targetState;
+    private int transitioned;
+    private int rejected;
+    private List<BoxTransitionResult> results;
+}
\ No newline at end of file
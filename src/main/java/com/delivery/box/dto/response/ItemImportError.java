@@ -0,0 +1,15 @@
+package com.delivery.box.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportError {
+    // 1-based line of the upload, header included
+    private long line;
+    private String code;
+    private String message;
+}
\ No newline at end of file
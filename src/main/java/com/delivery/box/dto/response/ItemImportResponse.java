@@ -0,0 +1,19 @@
+package com.delivery.box.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportResponse {
+    private int rows;
+    private int imported;
+    private int rejected;
+    // One entry per rejected row, up to box.import.max-reported-errors
+    private List<ItemImportError> errors;
+    private boolean errorsTruncated;
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.delivery.box.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +11,16 @@ import lombok.NoArgsConstructor;
 public class ItemResponse {
     private Long id;
     private String name;
+    // Per unit; for a loaded line, the weight at the time it was loaded
     private Double weight;
     private String code;
+    // Per unit, in cm3; for a loaded line, the volume at the time it was loaded
+    private Double volume;
+    // Units loaded, only set for the items of a box
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer quantity;
+
+    public ItemResponse(Long id, String name, Double weight, String code) {
+        this(id, name, weight, code, null, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.delivery.box.dto.response;
+
+import com.delivery.box.service.PackingStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadPlanResponse {
+    private PackingStrategy strategy;
+    private int boxesUsed;
+    private List<PlannedBoxLoad> assignments;
+    private List<String> unassignedItemCodes;
+    // Only set when the plan was executed
+    private BulkLoadResponse execution;
+}
\ No newline at end of file
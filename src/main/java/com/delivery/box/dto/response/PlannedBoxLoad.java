@@ -0,0 +1,17 @@
+package com.delivery.box.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlannedBoxLoad {
+    private String txref;
+    private List<String> itemCodes;
+    private Double plannedWeight;
+    private Double remainingCapacity;
+}
\ No newline at end of file
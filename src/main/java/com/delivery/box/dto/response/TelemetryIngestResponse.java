@@ -0,0 +1,16 @@
+package com.delivery.box.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryIngestResponse {
+    private int accepted;
+    // Malformed or out-of-range lines, never retried
+    private int invalid;
+    // Refused because the buffer was full; the batch can be resent as a whole
+    private int dropped;
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.delivery.box.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Append-only battery history. Rows are written in batches by BatteryTelemetryService and only
+// ever read back as aggregated ranges, so the box is kept as a plain id and time as epoch millis.
+@Entity
+@Table(name = "battery_readings",
+        indexes = @Index(name = "idx_battery_readings_box_time", columnList = "box_id, recorded_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatteryReading {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "box_id", nullable = false)
+    private Long boxId;
+
+    @NotNull
+    @Column(name = "recorded_at", nullable = false)
+    private Long recordedAt;
+
+    @NotNull
+    @Min(0)
+    @Max(100)
+    @Column(name = "battery_level", nullable = false)
+    private Integer batteryLevel;
+}
\ No newline at end of file
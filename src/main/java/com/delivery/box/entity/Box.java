@@ -5,19 +5,26 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "boxes")
+@Table(name = "boxes", indexes = @Index(name = "idx_boxes_state_battery", columnList = "state, battery_capacity"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Box {
 
+    public static final double DEFAULT_VOLUME_LIMIT = 8000.0;
+    public static final int DEFAULT_SLOT_LIMIT = 50;
+
+    // Pooled sequence: one nextval reserves 50 ids (matching hibernate.jdbc.batch_size), so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "box_id")
+    @SequenceGenerator(name = "box_id", sequenceName = "boxes_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -41,11 +48,46 @@ public class Box {
     @Column(nullable = false)
     private BoxState state;
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(
-            name = "box_items",
-            joinColumns = @JoinColumn(name = "box_id"),
-            inverseJoinColumns = @JoinColumn(name = "item_id")
-    )
-    private Set<Item> items = new HashSet<>();
+    // Running total of the load line weights, maintained by BoxService on load
+    @NotNull
+    @Min(0)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Double currentWeight = 0.0;
+
+    // Volume (cm3) and slot (item units) limits, with running totals maintained like currentWeight.
+    // Rows created before these columns existed get the defaults.
+    @NotNull
+    @Min(0)
+    @ColumnDefault("" + DEFAULT_VOLUME_LIMIT)
+    @Column(nullable = false)
+    private Double volumeLimit = DEFAULT_VOLUME_LIMIT;
+
+    @NotNull
+    @Min(0)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Double currentVolume = 0.0;
+
+    @NotNull
+    @Min(1)
+    @ColumnDefault("" + DEFAULT_SLOT_LIMIT)
+    @Column(nullable = false)
+    private Integer slotLimit = DEFAULT_SLOT_LIMIT;
+
+    @NotNull
+    @Min(0)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer usedSlots = 0;
+
+    // One line per loaded item code; paged box reads initialise the lines of a whole page in one query
+    @BatchSize(size = 100)
+    @OneToMany(mappedBy = "box", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<BoxLoadLine> loadLines = new ArrayList<>();
+
+    // Guards concurrent loads of the same box (see BoxService lock modes)
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.delivery.box.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+
+// One item code loaded into a box: a single row however many units, keyed by (box_id, item_id)
+@Entity
+@Table(name = "box_load_lines",
+        indexes = @Index(name = BoxLoadLine.BOX_ITEM_INDEX, columnList = "box_id, item_id", unique = true))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoxLoadLine {
+
+    public static final String BOX_ITEM_INDEX = "idx_box_load_lines_box_item";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "box_load_line_id")
+    @SequenceGenerator(name = "box_load_line_id", sequenceName = "box_load_lines_seq", allocationSize = 50)
+    private Long id;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "box_id", nullable = false)
+    private Box box;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @NotNull
+    @Min(1)
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // Total weight of the line as loaded, so later catalogue weight changes do not alter loaded boxes
+    @NotNull
+    @Min(0)
+    @Column(nullable = false)
+    private Double weight;
+
+    // Total volume of the line as loaded, in cm3
+    @NotNull
+    @Min(0)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Double volume;
+}
\ No newline at end of file
@@ -5,16 +5,22 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
+// Load lines reference items lazily; batch fetching resolves a page of them in one query
 @Entity
 @Table(name = "items")
+@BatchSize(size = 100)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item {
 
+    // Pooled sequence: one nextval reserves 50 ids (matching hibernate.jdbc.batch_size), so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_id")
+    @SequenceGenerator(name = "item_id", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -31,4 +37,15 @@ public class Item {
     @Pattern(regexp = "^[A-Z0-9_]+$", message = "Code can only contain uppercase letters, numbers and underscore")
     @Column(unique = true, nullable = false)
     private String code;
+
+    // Per unit, in cm3; 0 for items whose volume is not tracked
+    @NotNull
+    @Min(0)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Double volume = 0.0;
+
+    public Item(Long id, String name, Double weight, String code) {
+        this(id, name, weight, code, 0.0);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.delivery.box.event;
+
+public enum BoxChangeType {
+    CREATED,
+    // Items were added (loadBox, bulk load)
+    LOADED,
+    // Lifecycle transition (dispatch, deliver, return, unload)
+    STATE,
+    // Battery level written by the telemetry flush
+    BATTERY
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.delivery.box.event;
+
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.entity.Box;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.service.BoxService;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+
+// Published by the box write paths and delivered to BoxEventFeed once the transaction commits.
+// Also the payload of the SSE feed; fields the writer did not know are null and omitted.
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoxChangedEvent {
+
+    BoxChangeType type;
+    String txref;
+    BoxState state;
+    Integer batteryCapacity;
+    Double currentWeight;
+    Double remainingCapacity;
+    // Whether the box can currently be loaded; null for battery-only changes
+    Boolean available;
+    long timestamp;
+
+    public static BoxChangedEvent of(BoxChangeType type, Box box) {
+        return of(type, box.getTxref(), box.getState(), box.getBatteryCapacity(), box.getCurrentWeight(), box.getWeightLimit(),
+                box.getVolumeLimit() > box.getCurrentVolume() && box.getSlotLimit() > box.getUsedSlots());
+    }
+
+    public static BoxChangedEvent of(BoxChangeType type, BoxResponse box) {
+        return of(type, box.getTxref(), box.getState(), box.getBatteryCapacity(), box.getCurrentWeight(), box.getWeightLimit(),
+                box.getRemainingVolume() > 0 && box.getRemainingSlots() > 0);
+    }
+
+    private static BoxChangedEvent of(BoxChangeType type, String txref, BoxState state, int batteryCapacity,
+                                      double currentWeight, double weightLimit, boolean hasVolumeAndSlots) {
+        double remainingCapacity = weightLimit - currentWeight;
+        boolean available = state == BoxState.IDLE && batteryCapacity >= BoxService.MIN_LOADING_BATTERY
+                && remainingCapacity > 0 && hasVolumeAndSlots;
+        return new BoxChangedEvent(type, txref, state, batteryCapacity, currentWeight, remainingCapacity,
+                available, System.currentTimeMillis());
+    }
+
+    public static BoxChangedEvent battery(String txref, int batteryCapacity) {
+        return new BoxChangedEvent(BoxChangeType.BATTERY, txref, null, batteryCapacity,
+                null, null, null, System.currentTimeMillis());
+    }
+}
\ No newline at end of file
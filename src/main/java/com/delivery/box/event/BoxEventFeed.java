@@ -0,0 +1,233 @@
+package com.delivery.box.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans committed box changes out to subscribers. Publishing never blocks on a subscriber: each one
+// has a bounded queue that drops its oldest event when full, and is drained by a sender pool with at
+// most one drain task per subscriber in flight. The pool keeps sender-threads threads and starts more
+// while sends are slow, so a client stuck in a blocking write only holds its own drain; one whose
+// send has not returned within send-timeout-ms is cancelled and its transport closed.
+@Component
+@Slf4j
+public class BoxEventFeed {
+
+    // Receives events on a sender thread; throwing cancels the subscription
+    @FunctionalInterface
+    public interface EventSink {
+        void send(long id, BoxChangedEvent event) throws Exception;
+    }
+
+    private final Map<String, Set<Subscription>> subscriptionsByTxref = new ConcurrentHashMap<>();
+    private final List<Subscription> availabilitySubscriptions = new CopyOnWriteArrayList<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextEventId = new AtomicLong();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService stallWatchdog;
+    private final int bufferSize;
+    private final long sendTimeoutMillis;
+    private final Counter droppedCounter;
+    private final Counter stalledCounter;
+
+    public BoxEventFeed(MeterRegistry meterRegistry,
+                        @Value("${box.events.buffer-size:256}") int bufferSize,
+                        @Value("${box.events.sender-threads:4}") int senderThreads,
+                        @Value("${box.events.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.senders = new ThreadPoolExecutor(senderThreads, Integer.MAX_VALUE,
+                60, TimeUnit.SECONDS, new SynchronousQueue<>());
+        this.stallWatchdog = Executors.newSingleThreadScheduledExecutor();
+        long checkMillis = Math.max(1, sendTimeoutMillis / 4);
+        stallWatchdog.scheduleWithFixedDelay(this::closeStalledSubscriptions, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        this.droppedCounter = Counter.builder("box.events.dropped")
+                .description("Events dropped because a subscriber's buffer was full")
+                .register(meterRegistry);
+        this.stalledCounter = Counter.builder("box.events.stalled")
+                .description("Subscriptions closed because a send did not return within the send timeout")
+                .register(meterRegistry);
+        Gauge.builder("box.events.subscribers", subscriptions, Set::size)
+                .description("Open box event subscriptions")
+                .register(meterRegistry);
+    }
+
+    // Subscribes to the given txrefs and, if requested, to every change that can affect availability
+    public Subscription subscribe(Collection<String> txrefs, boolean availability, EventSink sink) {
+        return subscribe(txrefs, availability, sink, () -> { });
+    }
+
+    // onStalled closes the transport of a subscription cancelled for a send that did not return in time
+    public Subscription subscribe(Collection<String> txrefs, boolean availability, EventSink sink, Runnable onStalled) {
+        Subscription subscription = new Subscription(Set.copyOf(txrefs), availability, sink, onStalled);
+        subscription.txrefs.forEach(txref ->
+                subscriptionsByTxref.computeIfAbsent(txref, key -> ConcurrentHashMap.newKeySet()).add(subscription));
+        if (availability) {
+            availabilitySubscriptions.add(subscription);
+        }
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    // Runs after the publishing transaction commits, or straight away when there was none
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoxChanged(BoxChangedEvent event) {
+        long id = nextEventId.incrementAndGet();
+
+        Set<Subscription> byTxref = subscriptionsByTxref.get(event.getTxref());
+        if (byTxref != null) {
+            byTxref.forEach(subscription -> subscription.enqueue(id, event));
+        }
+        for (Subscription subscription : availabilitySubscriptions) {
+            if (byTxref == null || !byTxref.contains(subscription)) {
+                subscription.enqueue(id, event);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void closeStalledSubscriptions() {
+        long now = System.currentTimeMillis();
+        for (Subscription subscription : subscriptions) {
+            long sendStartedAt = subscription.sendStartedAt;
+            if (sendStartedAt != 0 && now - sendStartedAt > sendTimeoutMillis) {
+                subscription.stall();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stallWatchdog.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    public final class Subscription {
+
+        private final Set<String> txrefs;
+        private final boolean availability;
+        private final EventSink sink;
+        private final Runnable onStalled;
+        private final Queue<PendingEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        // Wall-clock start of the send in progress, 0 while idle
+        private volatile long sendStartedAt;
+
+        private Subscription(Set<String> txrefs, boolean availability, EventSink sink, Runnable onStalled) {
+            this.txrefs = txrefs;
+            this.availability = availability;
+            this.sink = sink;
+            this.onStalled = onStalled;
+        }
+
+        public void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+            txrefs.forEach(txref -> subscriptionsByTxref.computeIfPresent(txref, (key, subscriptions) -> {
+                subscriptions.remove(this);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            }));
+            if (availability) {
+                availabilitySubscriptions.remove(this);
+            }
+            queue.clear();
+            subscriptions.remove(this);
+        }
+
+        // The blocked send keeps its sender thread until the closed transport fails it
+        private void stall() {
+            if (cancelled.get()) {
+                return;
+            }
+            log.debug("Closing stalled box event subscription after {}ms", sendTimeoutMillis);
+            stalledCounter.increment();
+            cancel();
+            try {
+                onStalled.run();
+            } catch (RuntimeException ex) {
+                log.debug("Closing stalled box event transport failed: {}", ex.getMessage());
+            }
+        }
+
+        private void enqueue(long id, BoxChangedEvent event) {
+            if (cancelled.get()) {
+                return;
+            }
+
+            queue.add(new PendingEvent(id, event));
+            // Drop-oldest: a slow subscriber loses its stalest events, never the newest
+            if (queued.incrementAndGet() > bufferSize && queue.poll() != null) {
+                queued.decrementAndGet();
+                droppedCounter.increment();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                PendingEvent pending;
+                while (!cancelled.get() && (pending = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    sendStartedAt = System.currentTimeMillis();
+                    sink.send(pending.id, pending.event);
+                    sendStartedAt = 0;
+                }
+            } catch (Exception ex) {
+                log.debug("Closing box event subscription: {}", ex.getMessage());
+                cancel();
+            } finally {
+                sendStartedAt = 0;
+                draining.set(false);
+            }
+            // An event may have been queued after the last poll but before draining was reset
+            if (!cancelled.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private static final class PendingEvent {
+        private final long id;
+        private final BoxChangedEvent event;
+
+        private PendingEvent(long id, BoxChangedEvent event) {
+            this.id = id;
+            this.event = event;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.delivery.box.metrics;
+
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.repository.BoxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// Domain gauges, evaluated with a count query on every scrape
+@Component
+public class BoxFleetMetrics {
+
+    static final int LOW_BATTERY_THRESHOLD = 25;
+
+    public BoxFleetMetrics(BoxRepository boxRepository, MeterRegistry meterRegistry) {
+        for (BoxState state : BoxState.values()) {
+            Gauge.builder("box.fleet.boxes", () -> boxRepository.countByState(state))
+                    .description("Boxes per state")
+                    .tag("state", state.name())
+                    .register(meterRegistry);
+        }
+
+        Gauge.builder("box.fleet.low.battery", () -> boxRepository.countByBatteryCapacityLessThan(LOW_BATTERY_THRESHOLD))
+                .description("Boxes below the 25% loading battery threshold")
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
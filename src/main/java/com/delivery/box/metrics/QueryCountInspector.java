@@ -0,0 +1,39 @@
+package com.delivery.box.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts every SQL statement Hibernate prepares, in total and per tracked request thread
+@Component
+public class QueryCountInspector implements StatementInspector {
+
+    private final ThreadLocal<int[]> currentCount = new ThreadLocal<>();
+    private final LongAdder totalStatements = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        totalStatements.increment();
+        int[] count = currentCount.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void startCounting() {
+        currentCount.set(new int[1]);
+    }
+
+    // Returns the statements prepared on this thread since startCounting, or 0 if it was never started
+    public int stopCounting() {
+        int[] count = currentCount.get();
+        currentCount.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    public double totalStatements() {
+        return totalStatements.sum();
+    }
+}
\ No newline at end of file
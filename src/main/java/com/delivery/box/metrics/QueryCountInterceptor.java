@@ -0,0 +1,60 @@
+package com.delivery.box.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Records how many SQL statements each request issued, so N+1 regressions show up as a shifted histogram.
+// Async requests (NDJSON export, SSE) run their queries on other threads and are left out of it.
+@Component
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final QueryCountInspector queryCountInspector;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(QueryCountInspector queryCountInspector, MeterRegistry meterRegistry) {
+        this.queryCountInspector = queryCountInspector;
+        this.meterRegistry = meterRegistry;
+
+        FunctionCounter.builder("box.hibernate.statements", queryCountInspector, QueryCountInspector::totalStatements)
+                .description("SQL statements prepared by Hibernate")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            queryCountInspector.startCounting();
+        }
+        return true;
+    }
+
+    // The request thread goes back to the pool here without reaching afterCompletion
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryCountInspector.stopCounting();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int statements = queryCountInspector.stopCounting();
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        DistributionSummary.builder("box.http.queries")
+                .description("SQL statements per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
\ No newline at end of file
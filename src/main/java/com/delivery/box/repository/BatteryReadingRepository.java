@@ -0,0 +1,21 @@
+package com.delivery.box.repository;
+
+import com.delivery.box.entity.BatteryReading;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BatteryReadingRepository extends JpaRepository<BatteryReading, Long> {
+
+    // Min/max/avg per bucket of bucketMillis over [from, to), one row per non-empty bucket:
+    // bucket start (epoch ms), min, max, avg, reading count. Served by idx_battery_readings_box_time.
+    @Query(value = "SELECT r.bucket * :bucketMillis, MIN(r.battery_level), MAX(r.battery_level), " +
+            "AVG(CAST(r.battery_level AS DOUBLE PRECISION)), COUNT(*) " +
+            "FROM (SELECT recorded_at / :bucketMillis AS bucket, battery_level FROM battery_readings " +
+            "WHERE box_id = :boxId AND recorded_at >= :from AND recorded_at < :to) r " +
+            "GROUP BY r.bucket ORDER BY r.bucket", nativeQuery = true)
+    List<Object[]> findDownsampled(long boxId, long from, long to, long bucketMillis);
+}
\ No newline at end of file
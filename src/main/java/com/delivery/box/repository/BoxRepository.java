@@ -1,21 +1,151 @@
 package com.delivery.box.repository;
 
+import com.delivery.box.dto.projection.BoxBatteryView;
+import com.delivery.box.dto.projection.BoxSummaryView;
 import com.delivery.box.entity.Box;
 import com.delivery.box.entity.BoxState;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Repository
 public interface BoxRepository extends JpaRepository<Box, Long> {
 
+    // Rows fetched per round trip by the streaming queries
+    int STREAM_FETCH_SIZE = 500;
+
     Optional<Box> findByTxref(String txref);
 
-    @Query("SELECT b FROM Box b WHERE b.state = :state AND b.batteryCapacity >= 25")
-    List<Box> findAvailableBoxesForLoading(BoxState state);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Box b WHERE b.txref = :txref")
+    Optional<Box> findByTxrefForUpdate(String txref);
+
+    List<Box> findByTxrefIn(Collection<String> txrefs);
+
+    // Locks rows in txref order so concurrent bulk loads cannot deadlock on each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Box b WHERE b.txref IN :txrefs ORDER BY b.txref")
+    List<Box> findByTxrefInForUpdate(Collection<String> txrefs);
+
+    // Resolves txrefs with one IN query per chunk of ItemRepository.CODE_LOOKUP_CHUNK_SIZE
+    default List<Box> findAllByTxrefs(Collection<String> txrefs) {
+        return findInChunks(txrefs, this::findByTxrefIn);
+    }
+
+    default List<Box> findAllByTxrefsForUpdate(Collection<String> txrefs) {
+        return findInChunks(txrefs, this::findByTxrefInForUpdate);
+    }
+
+    @Query("SELECT b.txref FROM Box b WHERE b.txref IN :txrefs")
+    List<String> findExistingTxrefs(Collection<String> txrefs);
+
+    default Set<String> findAllExistingTxrefs(Collection<String> txrefs) {
+        return new HashSet<>(findInChunks(txrefs, this::findExistingTxrefs));
+    }
+
+    private <T> List<T> findInChunks(Collection<String> txrefs, Function<List<String>, List<T>> finder) {
+        List<String> sortedTxrefs = txrefs.stream().distinct().sorted().toList();
+        List<T> results = new ArrayList<>(sortedTxrefs.size());
+        for (int from = 0; from < sortedTxrefs.size(); from += ItemRepository.CODE_LOOKUP_CHUNK_SIZE) {
+            int to = Math.min(from + ItemRepository.CODE_LOOKUP_CHUNK_SIZE, sortedTxrefs.size());
+            results.addAll(finder.apply(sortedTxrefs.subList(from, to)));
+        }
+        return results;
+    }
+
+    @EntityGraph(attributePaths = {"loadLines", "loadLines.item"})
+    @Query("SELECT b FROM Box b WHERE b.txref = :txref")
+    Optional<Box> findWithItemsByTxref(String txref);
+
+    // Boxes with room left in every dimension, most remaining weight capacity first. Like the other view
+    // queries below, the constructor expression builds the views straight from the selected columns: no
+    // entity is instantiated, snapshotted for dirty checking or held by the session.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.delivery.box.dto.projection.BoxSummaryView(b.id, b.txref, b.weightLimit, " +
+            "b.batteryCapacity, b.state, b.currentWeight, b.volumeLimit, b.currentVolume, b.slotLimit, b.usedSlots, " +
+            "b.version) FROM Box b WHERE b.state = :state AND b.batteryCapacity >= 25 " +
+            "AND b.currentWeight < b.weightLimit AND b.currentVolume < b.volumeLimit AND b.usedSlots < b.slotLimit " +
+            "ORDER BY (b.weightLimit - b.currentWeight) DESC, b.id")
+    List<BoxSummaryView> findAvailableBoxViews(BoxState state);
+
+    // Keyset page of available boxes ordered by id; pass the last seen id as afterId
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.delivery.box.dto.projection.BoxSummaryView(b.id, b.txref, b.weightLimit, " +
+            "b.batteryCapacity, b.state, b.currentWeight, b.volumeLimit, b.currentVolume, b.slotLimit, b.usedSlots, " +
+            "b.version) FROM Box b WHERE b.state = :state AND b.batteryCapacity >= :minBattery " +
+            "AND b.currentWeight < b.weightLimit AND (b.weightLimit - b.currentWeight) >= :minRemainingCapacity " +
+            "AND b.currentVolume < b.volumeLimit AND (b.volumeLimit - b.currentVolume) >= :minRemainingVolume " +
+            "AND b.usedSlots < b.slotLimit AND (b.slotLimit - b.usedSlots) >= :minFreeSlots " +
+            "AND b.id > :afterId ORDER BY b.id")
+    List<BoxSummaryView> findAvailableBoxViewsAfter(BoxState state, int minBattery, double minRemainingCapacity,
+                                                    double minRemainingVolume, int minFreeSlots, long afterId,
+                                                    Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.delivery.box.dto.projection.BoxSummaryView(b.id, b.txref, b.weightLimit, " +
+            "b.batteryCapacity, b.state, b.currentWeight, b.volumeLimit, b.currentVolume, b.slotLimit, b.usedSlots, " +
+            "b.version) FROM Box b WHERE b.txref = :txref")
+    Optional<BoxSummaryView> findSummaryViewByTxref(String txref);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.delivery.box.dto.projection.BoxBatteryView(b.id, b.txref, b.batteryCapacity, b.version) " +
+            "FROM Box b WHERE b.txref = :txref")
+    Optional<BoxBatteryView> findBatteryViewByTxref(String txref);
+
+    // Conditional state change for the lifecycle engine: only rows still in one of the source states
+    // are updated, without reading them first. Bumps the version so optimistic loads and snapshot
+    // ETags see the change.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Box b SET b.state = :target, b.version = b.version + 1 " +
+            "WHERE b.txref IN :txrefs AND b.state IN :sources")
+    int transitionState(Collection<String> txrefs, Collection<BoxState> sources, BoxState target);
+
+    // Same as transitionState, also zeroing the running totals; pair with deleteLoadLinesOfIdleBoxes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Box b SET b.state = :target, b.currentWeight = 0, b.currentVolume = 0, b.usedSlots = 0, " +
+            "b.version = b.version + 1 " +
+            "WHERE b.txref IN :txrefs AND b.state IN :sources")
+    int transitionStateAndClearCargo(Collection<String> txrefs, Collection<BoxState> sources, BoxState target);
+
+    // An IDLE box never carries load lines, so this only removes what an unload left behind
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM box_load_lines WHERE box_id IN " +
+            "(SELECT id FROM boxes WHERE txref IN :txrefs AND state = 'IDLE')", nativeQuery = true)
+    int deleteLoadLinesOfIdleBoxes(Collection<String> txrefs);
+
+    // Every available box ordered by id, read through a cursor; must be consumed and closed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Box b WHERE b.state = :state AND b.batteryCapacity >= :minBattery " +
+            "AND b.currentWeight < b.weightLimit AND (b.weightLimit - b.currentWeight) >= :minRemainingCapacity " +
+            "AND b.currentVolume < b.volumeLimit AND (b.volumeLimit - b.currentVolume) >= :minRemainingVolume " +
+            "AND b.usedSlots < b.slotLimit AND (b.slotLimit - b.usedSlots) >= :minFreeSlots " +
+            "ORDER BY b.id")
+    Stream<Box> streamAvailableBoxes(BoxState state, int minBattery, double minRemainingCapacity,
+                                     double minRemainingVolume, int minFreeSlots);
 
     boolean existsByTxref(String txref);
+
+    long countByState(BoxState state);
+
+    long countByBatteryCapacityLessThan(int batteryCapacity);
 }
\ No newline at end of file
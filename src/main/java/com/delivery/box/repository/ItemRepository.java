@@ -1,15 +1,59 @@
 package com.delivery.box.repository;
 
 import com.delivery.box.entity.Item;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    // Keeps IN lists well below driver/database bind parameter limits
+    int CODE_LOOKUP_CHUNK_SIZE = 1000;
+
     Optional<Item> findByCode(String code);
 
     boolean existsByCode(String code);
+
+    List<Item> findByCodeIn(Collection<String> codes);
+
+    @Query("SELECT i.code FROM Item i WHERE i.code IN :codes")
+    List<String> findExistingCodes(Collection<String> codes);
+
+    // Keyset page of the catalogue ordered by id; pass the last seen id as afterId
+    @Query("SELECT i FROM Item i WHERE i.id > :afterId AND i.weight >= :minWeight AND i.weight <= :maxWeight ORDER BY i.id")
+    List<Item> findItemsAfter(long afterId, double minWeight, double maxWeight, Pageable pageable);
+
+    // Whole catalogue ordered by id, read through a cursor; must be consumed and closed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + BoxRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Item i WHERE i.weight >= :minWeight AND i.weight <= :maxWeight ORDER BY i.id")
+    Stream<Item> streamItems(double minWeight, double maxWeight);
+
+    // Resolves codes with one IN query per chunk of CODE_LOOKUP_CHUNK_SIZE codes
+    default List<Item> findAllByCodes(Collection<String> codes) {
+        List<String> distinctCodes = codes.stream().distinct().toList();
+        if (distinctCodes.size() <= CODE_LOOKUP_CHUNK_SIZE) {
+            return distinctCodes.isEmpty() ? List.of() : findByCodeIn(distinctCodes);
+        }
+
+        List<Item> items = new ArrayList<>(distinctCodes.size());
+        for (int from = 0; from < distinctCodes.size(); from += CODE_LOOKUP_CHUNK_SIZE) {
+            int to = Math.min(from + CODE_LOOKUP_CHUNK_SIZE, distinctCodes.size());
+            items.addAll(findByCodeIn(distinctCodes.subList(from, to)));
+        }
+        return items;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.projection.BoxBatteryView;
+import com.delivery.box.dto.response.BatteryHistoryBucket;
+import com.delivery.box.dto.response.BatteryHistoryResponse;
+import com.delivery.box.exception.BoxNotFoundException;
+import com.delivery.box.exception.InvalidOperationException;
+import com.delivery.box.repository.BatteryReadingRepository;
+import com.delivery.box.repository.BoxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class BatteryHistoryService {
+
+    static final long MIN_BUCKET_MILLIS = 1000;
+    static final long DEFAULT_RANGE_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final BoxRepository boxRepository;
+    private final BatteryReadingRepository batteryReadingRepository;
+    private final int maxBuckets;
+
+    public BatteryHistoryService(BoxRepository boxRepository,
+                                 BatteryReadingRepository batteryReadingRepository,
+                                 @Value("${box.battery.history.max-buckets:500}") int maxBuckets) {
+        this.boxRepository = boxRepository;
+        this.batteryReadingRepository = batteryReadingRepository;
+        this.maxBuckets = maxBuckets;
+    }
+
+    // Aggregates in the database, so the response size is bounded by max-buckets however long the
+    // range is: a requested bucket that would exceed it is widened.
+    @Transactional(readOnly = true)
+    public BatteryHistoryResponse getHistory(String txref, Long from, Long to, Long bucketMillis) {
+        BoxBatteryView box = boxRepository.findBatteryViewByTxref(txref)
+                .orElseThrow(() -> new BoxNotFoundException("Box with txref '" + txref + "' not found"));
+
+        long rangeEnd = to == null ? System.currentTimeMillis() : to;
+        long rangeStart = from == null ? rangeEnd - DEFAULT_RANGE_MILLIS : from;
+        if (rangeStart >= rangeEnd) {
+            throw new InvalidOperationException("History range start must be before its end");
+        }
+
+        long minimumBucket = Math.max(MIN_BUCKET_MILLIS, ceilDiv(rangeEnd - rangeStart, maxBuckets));
+        long bucket = bucketMillis == null ? minimumBucket : Math.max(bucketMillis, minimumBucket);
+
+        List<BatteryHistoryBucket> buckets = batteryReadingRepository
+                .findDownsampled(box.getId(), rangeStart, rangeEnd, bucket).stream()
+                .map(this::mapToBucket)
+                .collect(Collectors.toList());
+
+        return new BatteryHistoryResponse(txref, rangeStart, rangeEnd, bucket, buckets);
+    }
+
+    private BatteryHistoryBucket mapToBucket(Object[] row) {
+        return new BatteryHistoryBucket(
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).intValue(),
+                ((Number) row[2]).intValue(),
+                ((Number) row[3]).doubleValue(),
+                ((Number) row[4]).longValue()
+        );
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,273 @@
+package com.delivery.box.service;
+
+import com.delivery.box.cache.BoxSnapshotCache;
+import com.delivery.box.dto.request.BatteryReadingRequest;
+import com.delivery.box.dto.response.TelemetryIngestResponse;
+import com.delivery.box.event.BoxChangedEvent;
+import com.delivery.box.repository.BoxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+// Buffers battery readings in memory, keeping only the newest per box, and writes them to the boxes
+// table on a schedule with JDBC batch updates. A box reporting every second costs one UPDATE per
+// flush interval instead of one per reading. Every reading is also queued for battery_readings,
+// which is appended to with batch inserts in the same flush.
+@Service
+public class BatteryTelemetryService {
+
+    private static final String UPDATE_BATTERY_SQL =
+            "UPDATE boxes SET battery_capacity = ?, version = version + 1 WHERE txref = ? AND battery_capacity <> ?";
+    // Resolves the box id in the insert itself; readings for unknown txrefs insert nothing
+    private static final String INSERT_READING_SQL =
+            "INSERT INTO battery_readings (box_id, recorded_at, battery_level) SELECT id, ?, ? FROM boxes WHERE txref = ?";
+
+    private final Map<String, Reading> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<HistoryEntry> history;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final BoxRepository boxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BoxSnapshotCache boxSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int bufferCapacity;
+    private final int batchSize;
+    private final Counter acceptedCounter;
+    private final Counter invalidCounter;
+    private final Counter droppedCounter;
+
+    public BatteryTelemetryService(ObjectMapper objectMapper,
+                                   Validator validator,
+                                   JdbcTemplate jdbcTemplate,
+                                   BoxRepository boxRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   BoxSnapshotCache boxSnapshotCache,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${box.telemetry.buffer-capacity:100000}") int bufferCapacity,
+                                   @Value("${box.telemetry.batch-size:500}") int batchSize,
+                                   @Value("${box.telemetry.history-capacity:500000}") int historyCapacity) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.boxRepository = boxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.boxSnapshotCache = boxSnapshotCache;
+        this.eventPublisher = eventPublisher;
+        this.bufferCapacity = bufferCapacity;
+        this.batchSize = batchSize;
+        this.history = new LinkedBlockingQueue<>(historyCapacity);
+        this.acceptedCounter = readingsCounter(meterRegistry, "accepted");
+        this.invalidCounter = readingsCounter(meterRegistry, "invalid");
+        this.droppedCounter = readingsCounter(meterRegistry, "dropped");
+        Gauge.builder("box.telemetry.buffered", pending, Map::size)
+                .description("Boxes with a battery reading waiting to be flushed")
+                .register(meterRegistry);
+        Gauge.builder("box.telemetry.history.queued", history, BlockingQueue::size)
+                .description("Battery readings waiting to be appended to the history")
+                .register(meterRegistry);
+    }
+
+    // Reads one JSON reading per line. Lines are handled independently: a bad line or a reading for
+    // an unknown box is counted as invalid, and readings are dropped once the history queue is full
+    // or, for boxes not buffered yet, once the buffer is full. Parsed readings are recorded in chunks
+    // of batch-size, so checking which boxes exist costs one IN query per chunk.
+    public TelemetryIngestResponse ingest(BufferedReader lines) throws IOException {
+        IngestTally tally = new IngestTally();
+        List<BatteryReadingRequest> chunk = new ArrayList<>(batchSize);
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            BatteryReadingRequest reading = parse(line);
+            if (reading == null) {
+                tally.invalid++;
+                continue;
+            }
+
+            chunk.add(reading);
+            if (chunk.size() == batchSize) {
+                recordChunk(chunk, tally);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            recordChunk(chunk, tally);
+        }
+
+        acceptedCounter.increment(tally.accepted);
+        invalidCounter.increment(tally.invalid);
+        droppedCounter.increment(tally.dropped);
+        return new TelemetryIngestResponse(tally.accepted, tally.invalid, tally.dropped);
+    }
+
+    // Newest reading not yet written to the boxes table
+    public Optional<Integer> getBufferedLevel(String txref) {
+        return Optional.ofNullable(pending.get(txref)).map(reading -> reading.level);
+    }
+
+    // Writes every buffered reading and the queued history in one transaction. A buffered entry is
+    // only removed if no newer reading replaced it meanwhile, so getBufferedLevel keeps answering
+    // until the row is written. Returns the number of boxes updated.
+    @Scheduled(fixedDelayString = "${box.telemetry.flush-interval-ms:1000}",
+            initialDelayString = "${box.telemetry.flush-interval-ms:1000}")
+    public int flush() {
+        if (pending.isEmpty() && history.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<String, Reading>> batch = new ArrayList<>(pending.size());
+        pending.forEach((txref, reading) -> batch.add(Map.entry(txref, reading)));
+        List<String> txrefs = batch.stream().map(Map.Entry::getKey).toList();
+        List<HistoryEntry> readings = new ArrayList<>(history.size());
+        history.drainTo(readings);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_BATTERY_SQL, batch, batchSize, (statement, entry) -> {
+                    statement.setInt(1, entry.getValue().level);
+                    statement.setString(2, entry.getKey());
+                    statement.setInt(3, entry.getValue().level);
+                });
+                publishChangedLevels(batch, updateCounts);
+                jdbcTemplate.batchUpdate(INSERT_READING_SQL, readings, batchSize, (statement, entry) -> {
+                    statement.setLong(1, entry.reading.recordedAt);
+                    statement.setInt(2, entry.reading.level);
+                    statement.setString(3, entry.txref);
+                });
+                boxSnapshotCache.evict(txrefs);
+            });
+        } catch (RuntimeException ex) {
+            // The buffered levels are still in place; give the history back for the next attempt
+            readings.forEach(history::offer);
+            throw ex;
+        }
+
+        batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+        return batch.size();
+    }
+
+    // Only rows the UPDATE actually changed are published: unknown txrefs and unchanged levels match
+    // no row. Drivers that do not report per-statement counts are treated as changed.
+    private void publishChangedLevels(List<Map.Entry<String, Reading>> batch, int[][] updateCounts) {
+        int index = 0;
+        for (int[] counts : updateCounts) {
+            for (int count : counts) {
+                Map.Entry<String, Reading> entry = batch.get(index++);
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    eventPublisher.publishEvent(BoxChangedEvent.battery(entry.getKey(), entry.getValue().level));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private BatteryReadingRequest parse(String line) {
+        try {
+            BatteryReadingRequest reading = objectMapper.readValue(line, BatteryReadingRequest.class);
+            return validator.validate(reading).isEmpty() ? reading : null;
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    // A buffered box was known when its reading came in, so only the other txrefs of the chunk are
+    // looked up
+    private void recordChunk(List<BatteryReadingRequest> chunk, IngestTally tally) {
+        Set<String> unbuffered = chunk.stream()
+                .map(BatteryReadingRequest::getTxref)
+                .filter(txref -> !pending.containsKey(txref))
+                .collect(Collectors.toSet());
+        Set<String> known = unbuffered.isEmpty() ? Set.of() : boxRepository.findAllExistingTxrefs(unbuffered);
+
+        for (BatteryReadingRequest reading : chunk) {
+            if (unbuffered.contains(reading.getTxref()) && !known.contains(reading.getTxref())) {
+                tally.invalid++;
+            } else if (record(reading)) {
+                tally.accepted++;
+            } else {
+                tally.dropped++;
+            }
+        }
+    }
+
+    private boolean record(BatteryReadingRequest request) {
+        long recordedAt = request.getRecordedAt() == null ? System.currentTimeMillis() : request.getRecordedAt();
+        Reading reading = new Reading(request.getBatteryCapacity(), recordedAt);
+
+        if (pending.size() >= bufferCapacity && !pending.containsKey(request.getTxref())) {
+            return false;
+        }
+        if (!history.offer(new HistoryEntry(request.getTxref(), reading))) {
+            return false;
+        }
+        // Readings can arrive out of order across batches; the newest one wins
+        pending.merge(request.getTxref(), reading,
+                (current, candidate) -> candidate.recordedAt >= current.recordedAt ? candidate : current);
+        return true;
+    }
+
+    private static Counter readingsCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("box.telemetry.readings")
+                .description("Battery readings received, by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class IngestTally {
+        private int accepted;
+        private int invalid;
+        private int dropped;
+    }
+
+    private static final class Reading {
+        private final int level;
+        private final long recordedAt;
+
+        private Reading(int level, long recordedAt) {
+            this.level = level;
+            this.recordedAt = recordedAt;
+        }
+    }
+
+    private static final class HistoryEntry {
+        private final String txref;
+        private final Reading reading;
+
+        private HistoryEntry(String txref, Reading reading) {
+            this.txref = txref;
+            this.reading = reading;
+        }
+    }
+}
\ No newline at end of file
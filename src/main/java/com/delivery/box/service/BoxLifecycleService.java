@@ -0,0 +1,132 @@
+package com.delivery.box.service;
+
+import com.delivery.box.cache.BoxSnapshotCache;
+import com.delivery.box.dto.request.BoxView;
+import com.delivery.box.dto.request.BulkTransitionRequest;
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.dto.response.BoxTransitionResult;
+import com.delivery.box.dto.response.BulkTransitionResponse;
+import com.delivery.box.entity.Box;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.event.BoxChangeType;
+import com.delivery.box.event.BoxChangedEvent;
+import com.delivery.box.exception.BoxNotFoundException;
+import com.delivery.box.exception.InvalidOperationException;
+import com.delivery.box.repository.BoxRepository;
+import com.delivery.box.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Applies BoxTransition as conditional UPDATEs: the state check happens in the WHERE clause, so
+// boxes are never read and locked first and a whole batch moves in one statement
+@Service
+@RequiredArgsConstructor
+public class BoxLifecycleService {
+
+    private final BoxRepository boxRepository;
+    private final BoxSnapshotCache boxSnapshotCache;
+    private final BoxService boxService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public BoxResponse transition(String txref, BoxTransition transition) {
+        return transition(txref, transition, BoxView.FULL);
+    }
+
+    // A summary is read from the box columns, so the load lines are never fetched for it
+    @Transactional
+    public BoxResponse transition(String txref, BoxTransition transition, BoxView view) {
+        requireConditional(transition);
+
+        if (applyTransition(List.of(txref), transition) == 0) {
+            Box box = boxRepository.findByTxref(txref)
+                    .orElseThrow(() -> new BoxNotFoundException("Box with txref '" + txref + "' not found"));
+            throw new InvalidOperationException(rejectionMessage(transition, box.getState()));
+        }
+
+        BoxResponse response = view == BoxView.SUMMARY
+                ? boxService.getBoxSummarySnapshot(txref).getResponse()
+                : boxService.getBox(txref);
+        eventPublisher.publishEvent(BoxChangedEvent.of(BoxChangeType.STATE, response));
+        return response;
+    }
+
+    // One UPDATE per chunk of ItemRepository.CODE_LOOKUP_CHUNK_SIZE txrefs. The states are read before
+    // and after only to report per box; the UPDATE itself decides which boxes move, so a box changed
+    // concurrently is simply skipped.
+    @Transactional
+    public BulkTransitionResponse transitionAll(BulkTransitionRequest request) {
+        BoxTransition transition = request.getTransition();
+        requireConditional(transition);
+
+        List<String> txrefs = request.getTxrefs().stream().distinct().sorted().toList();
+        Map<String, BoxState> statesBefore = findBoxes(txrefs).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getState()));
+        for (int from = 0; from < txrefs.size(); from += ItemRepository.CODE_LOOKUP_CHUNK_SIZE) {
+            int to = Math.min(from + ItemRepository.CODE_LOOKUP_CHUNK_SIZE, txrefs.size());
+            applyTransition(txrefs.subList(from, to), transition);
+        }
+        Map<String, Box> boxesAfter = findBoxes(txrefs);
+
+        List<BoxTransitionResult> results = txrefs.stream()
+                .map(txref -> toResult(txref, statesBefore.get(txref), stateOf(boxesAfter.get(txref)), transition))
+                .collect(Collectors.toList());
+        results.stream()
+                .filter(BoxTransitionResult::isTransitioned)
+                .forEach(result -> eventPublisher.publishEvent(
+                        BoxChangedEvent.of(BoxChangeType.STATE, boxesAfter.get(result.getTxref()))));
+
+        int transitioned = (int) results.stream().filter(BoxTransitionResult::isTransitioned).count();
+        return new BulkTransitionResponse(transition, transition.getTarget(), transitioned,
+                results.size() - transitioned, results);
+    }
+
+    private int applyTransition(List<String> txrefs, BoxTransition transition) {
+        boxSnapshotCache.evict(txrefs);
+
+        if (!transition.clearsCargo()) {
+            return boxRepository.transitionState(txrefs, transition.getSources(), transition.getTarget());
+        }
+
+        int updated = boxRepository.transitionStateAndClearCargo(txrefs, transition.getSources(), transition.getTarget());
+        boxRepository.deleteLoadLinesOfIdleBoxes(txrefs);
+        return updated;
+    }
+
+    private Map<String, Box> findBoxes(List<String> txrefs) {
+        return boxRepository.findAllByTxrefs(txrefs).stream()
+                .collect(Collectors.toMap(Box::getTxref, Function.identity()));
+    }
+
+    private static BoxState stateOf(Box box) {
+        return box == null ? null : box.getState();
+    }
+
+    private BoxTransitionResult toResult(String txref, BoxState before, BoxState after, BoxTransition transition) {
+        if (after == null) {
+            return new BoxTransitionResult(txref, false, "Box with txref '" + txref + "' not found", null);
+        }
+        if (!transition.canApplyTo(before) || after != transition.getTarget()) {
+            return new BoxTransitionResult(txref, false, rejectionMessage(transition, before), after);
+        }
+        return new BoxTransitionResult(txref, true, "Transitioned", after);
+    }
+
+    // LOAD also needs the battery and weight checks, which only BoxService.loadBox performs
+    private void requireConditional(BoxTransition transition) {
+        if (transition == BoxTransition.LOAD) {
+            throw new InvalidOperationException("Boxes are loaded through the load endpoints");
+        }
+    }
+
+    private String rejectionMessage(BoxTransition transition, BoxState state) {
+        return "Cannot apply " + transition + " to box in state " + state + ". Allowed from: " + transition.getSources();
+    }
+}
\ No newline at end of file
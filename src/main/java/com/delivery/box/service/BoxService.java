@@ -1,34 +1,81 @@
 package com.delivery.box.service;
 
+import com.delivery.box.cache.BatterySnapshot;
+import com.delivery.box.cache.BoxSnapshot;
+import com.delivery.box.cache.BoxSnapshotCache;
+import com.delivery.box.cache.ItemCatalogCache;
+import com.delivery.box.dto.projection.BoxBatteryView;
+import com.delivery.box.dto.projection.BoxSummaryView;
+import com.delivery.box.dto.request.BoxLoadRequest;
 import com.delivery.box.dto.request.BoxRequest;
+import com.delivery.box.dto.request.BoxView;
+import com.delivery.box.dto.request.BulkLoadRequest;
+import com.delivery.box.dto.request.ItemQuantityRequest;
 import com.delivery.box.dto.request.LoadItemsRequest;
 import com.delivery.box.dto.response.BatteryLevelResponse;
+import com.delivery.box.dto.response.BoxLoadResult;
 import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.dto.response.BulkLoadResponse;
 import com.delivery.box.dto.response.ItemResponse;
 import com.delivery.box.entity.Box;
+import com.delivery.box.entity.BoxLoadLine;
 import com.delivery.box.entity.BoxState;
 import com.delivery.box.entity.Item;
+import com.delivery.box.event.BoxChangeType;
+import com.delivery.box.event.BoxChangedEvent;
 import com.delivery.box.exception.BoxNotFoundException;
 import com.delivery.box.exception.InvalidOperationException;
 import com.delivery.box.exception.ItemNotFoundException;
 import com.delivery.box.repository.BoxRepository;
-import com.delivery.box.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BoxService {
 
+    public static final int MIN_LOADING_BATTERY = 25;
+    public static final String SUMMARY_ETAG_SUFFIX = "-s";
+
     private final BoxRepository boxRepository;
-    private final ItemRepository itemRepository;
+    private final ItemCatalogCache itemCatalogCache;
+    private final BoxSnapshotCache boxSnapshotCache;
+    private final BatteryTelemetryService batteryTelemetryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${box.loading.lock-mode:OPTIMISTIC}")
+    private LoadLockMode lockMode;
+
+    @Value("${box.loading.max-attempts:3}")
+    private int maxLoadAttempts;
 
     @Transactional
     public BoxResponse createBox(BoxRequest request) {
+        return createBox(request, BoxView.FULL);
+    }
+
+    @Transactional
+    public BoxResponse createBox(BoxRequest request, BoxView view) {
         if (boxRepository.existsByTxref(request.getTxref())) {
             throw new InvalidOperationException("Box with txref '" + request.getTxref() + "' already exists");
         }
@@ -37,94 +84,373 @@ public class BoxService {
         box.setTxref(request.getTxref());
         box.setWeightLimit(request.getWeightLimit());
         box.setBatteryCapacity(request.getBatteryCapacity());
+        box.setVolumeLimit(request.getVolumeLimit() == null ? Box.DEFAULT_VOLUME_LIMIT : request.getVolumeLimit());
+        box.setSlotLimit(request.getSlotLimit() == null ? Box.DEFAULT_SLOT_LIMIT : request.getSlotLimit());
         box.setState(BoxState.IDLE);
 
         Box savedBox = boxRepository.save(box);
-        return mapToBoxResponse(savedBox);
+        boxSnapshotCache.evict(savedBox.getTxref());
+        eventPublisher.publishEvent(BoxChangedEvent.of(BoxChangeType.CREATED, savedBox));
+        return mapToBoxView(savedBox, view);
     }
 
-    @Transactional
     public BoxResponse loadBox(String txref, LoadItemsRequest request) {
-        Box box = boxRepository.findByTxref(txref)
+        return loadBox(txref, request, BoxView.FULL);
+    }
+
+    public BoxResponse loadBox(String txref, LoadItemsRequest request, BoxView view) {
+        return withLoadRetry(() -> transactionTemplate.execute(status -> doLoadBox(txref, request, view)));
+    }
+
+    private BoxResponse doLoadBox(String txref, LoadItemsRequest request, BoxView view) {
+        Box box = findBoxForLoading(txref)
                 .orElseThrow(() -> new BoxNotFoundException("Box with txref '" + txref + "' not found"));
 
-        if (box.getBatteryCapacity() < 25) {
+        validateLoadable(box);
+
+        Map<Item, Integer> itemsToLoad = resolveItems(quantitiesByCode(request.getItemCodes(), request.getItems()));
+        addItems(box, itemsToLoad);
+
+        Box savedBox = boxRepository.save(box);
+        boxSnapshotCache.evict(txref);
+        eventPublisher.publishEvent(BoxChangedEvent.of(BoxChangeType.LOADED, savedBox));
+        return mapToBoxView(savedBox, view);
+    }
+
+    // Loads many boxes in one transaction: boxes and items are resolved with batched queries and
+    // the box updates and load line inserts are flushed as JDBC batches on commit
+    public BulkLoadResponse loadBoxes(BulkLoadRequest request) {
+        return withLoadRetry(() -> transactionTemplate.execute(status -> doLoadBoxes(request, status)));
+    }
+
+    private BulkLoadResponse doLoadBoxes(BulkLoadRequest request, TransactionStatus status) {
+        List<String> txrefs = request.getLoads().stream()
+                .map(BoxLoadRequest::getTxref)
+                .toList();
+        List<String> itemCodes = request.getLoads().stream()
+                .flatMap(load -> quantitiesByCode(load.getItemCodes(), load.getItems()).keySet().stream())
+                .toList();
+
+        Map<String, Box> boxesByTxref = findBoxesForLoading(txrefs).stream()
+                .collect(Collectors.toMap(Box::getTxref, Function.identity()));
+        Map<String, Item> itemsByCode = itemCatalogCache.findAllByCodes(itemCodes);
+        boxSnapshotCache.evict(boxesByTxref.keySet());
+
+        List<BoxLoadResult> results = request.getLoads().stream()
+                .map(load -> applyBulkLoad(load, boxesByTxref, itemsByCode))
+                .collect(Collectors.toList());
+
+        long failed = results.stream().filter(result -> !result.isLoaded()).count();
+
+        if (request.isAtomic() && failed > 0) {
+            status.setRollbackOnly();
+            results = results.stream()
+                    .map(result -> result.isLoaded()
+                            ? new BoxLoadResult(result.getTxref(), false, "Not applied: atomic batch contains failed loads", null, null)
+                            : result)
+                    .collect(Collectors.toList());
+            return new BulkLoadResponse(true, 0, results.size(), results);
+        }
+
+        return new BulkLoadResponse(request.isAtomic(), results.size() - (int) failed, (int) failed, results);
+    }
+
+    private BoxLoadResult applyBulkLoad(BoxLoadRequest load, Map<String, Box> boxesByTxref, Map<String, Item> itemsByCode) {
+        Box box = boxesByTxref.get(load.getTxref());
+        if (box == null) {
+            return new BoxLoadResult(load.getTxref(), false, "Box with txref '" + load.getTxref() + "' not found", null, null);
+        }
+
+        Map<String, Integer> quantities = quantitiesByCode(load.getItemCodes(), load.getItems());
+        List<String> missingCodes = findMissingCodes(quantities.keySet(), itemsByCode);
+        if (!missingCodes.isEmpty()) {
+            return new BoxLoadResult(load.getTxref(), false, "Items with codes " + missingCodes + " not found", null, null);
+        }
+
+        try {
+            validateLoadable(box);
+            addItems(box, withItems(quantities, itemsByCode));
+        } catch (InvalidOperationException ex) {
+            return new BoxLoadResult(load.getTxref(), false, ex.getMessage(), null, null);
+        }
+
+        // Delivered only if the bulk transaction commits, so a rolled-back atomic batch publishes nothing
+        eventPublisher.publishEvent(BoxChangedEvent.of(BoxChangeType.LOADED, box));
+        return new BoxLoadResult(load.getTxref(), true, "Loaded", calculateCurrentWeight(box), calculateRemainingCapacity(box));
+    }
+
+    private void validateLoadable(Box box) {
+        if (box.getBatteryCapacity() < MIN_LOADING_BATTERY) {
             throw new InvalidOperationException("Cannot load box with battery level below 25%. Current level: " + box.getBatteryCapacity() + "%");
         }
 
-        if (box.getState() != BoxState.IDLE && box.getState() != BoxState.LOADING) {
+        if (!BoxTransition.LOAD.canApplyTo(box.getState())) {
             throw new InvalidOperationException("Box is not available for loading. Current state: " + box.getState());
         }
+    }
 
-        box.setState(BoxState.LOADING);
+    // Checks every capacity dimension and only then mutates the box, so a rejected load leaves it
+    // untouched. The totals are summed in one pass over primitives, so the check costs the same few
+    // operations per item code for a bulk load of thousands of units. Each item code becomes one load
+    // line however many units are loaded; a code already in the box adds to its line. Package-private,
+    // like the mapping helpers below, so BoxServiceMappingBenchmark can measure it.
+    void addItems(Box box, Map<Item, Integer> itemsToLoad) {
+        double addedWeight = 0.0;
+        double addedVolume = 0.0;
+        long addedUnits = 0;
+        for (Map.Entry<Item, Integer> entry : itemsToLoad.entrySet()) {
+            int quantity = entry.getValue();
+            addedWeight += entry.getKey().getWeight() * quantity;
+            addedVolume += entry.getKey().getVolume() * quantity;
+            addedUnits += quantity;
+        }
 
-        List<Item> itemsToLoad = request.getItemCodes().stream()
-                .map(code -> itemRepository.findByCode(code)
-                        .orElseThrow(() -> new ItemNotFoundException("Item with code '" + code + "' not found")))
-                .collect(Collectors.toList());
+        checkCapacity(box, addedWeight, addedVolume, addedUnits);
+
+        Map<Long, BoxLoadLine> linesByItemId = box.getLoadLines().stream()
+                .collect(Collectors.toMap(line -> line.getItem().getId(), Function.identity()));
+        itemsToLoad.forEach((item, quantity) -> {
+            BoxLoadLine line = linesByItemId.get(item.getId());
+            if (line == null) {
+                box.getLoadLines().add(new BoxLoadLine(
+                        null, box, item, quantity, item.getWeight() * quantity, item.getVolume() * quantity));
+            } else {
+                line.setQuantity(line.getQuantity() + quantity);
+                line.setWeight(line.getWeight() + item.getWeight() * quantity);
+                line.setVolume(line.getVolume() + item.getVolume() * quantity);
+            }
+        });
+        box.setCurrentWeight(calculateCurrentWeight(box) + addedWeight);
+        box.setCurrentVolume(box.getCurrentVolume() + addedVolume);
+        box.setUsedSlots(box.getUsedSlots() + (int) addedUnits);
 
-        double totalWeight = itemsToLoad.stream()
-                .mapToDouble(Item::getWeight)
-                .sum();
+        box.setState(BoxState.LOADED);
+    }
 
+    // Weight is checked first so its message stays the one reported when several limits are exceeded
+    private void checkCapacity(Box box, double addedWeight, double addedVolume, long addedUnits) {
         double currentWeight = calculateCurrentWeight(box);
-        double newTotalWeight = currentWeight + totalWeight;
-
-        if (newTotalWeight > box.getWeightLimit()) {
+        if (currentWeight + addedWeight > box.getWeightLimit()) {
             throw new InvalidOperationException(
                     String.format("Cannot load items. Weight limit exceeded. Current: %.2fgr, Adding: %.2fgr, Limit: %.2fgr",
-                            currentWeight, totalWeight, box.getWeightLimit())
+                            currentWeight, addedWeight, box.getWeightLimit())
+            );
+        }
+        if (box.getCurrentVolume() + addedVolume > box.getVolumeLimit()) {
+            throw new InvalidOperationException(
+                    String.format("Cannot load items. Volume limit exceeded. Current: %.2fcm3, Adding: %.2fcm3, Limit: %.2fcm3",
+                            box.getCurrentVolume(), addedVolume, box.getVolumeLimit())
+            );
+        }
+        if (box.getUsedSlots() + addedUnits > box.getSlotLimit()) {
+            throw new InvalidOperationException(
+                    String.format("Cannot load items. Slot limit exceeded. Used: %d, Adding: %d, Limit: %d",
+                            box.getUsedSlots(), addedUnits, box.getSlotLimit())
             );
         }
-
-        box.getItems().addAll(itemsToLoad);
-
-        box.setState(BoxState.LOADED);
-
-        Box savedBox = boxRepository.save(box);
-        return mapToBoxResponse(savedBox);
     }
 
+    @Transactional(readOnly = true)
     public List<ItemResponse> getLoadedItems(String txref) {
-        Box box = boxRepository.findByTxref(txref)
+        Box box = boxRepository.findWithItemsByTxref(txref)
                 .orElseThrow(() -> new BoxNotFoundException("Box with txref '" + txref + "' not found"));
 
-        return box.getItems().stream()
+        return box.getLoadLines().stream()
                 .map(this::mapToItemResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<BoxResponse> getAvailableBoxes() {
-        List<Box> boxes = boxRepository.findAvailableBoxesForLoading(BoxState.IDLE);
+        List<BoxSummaryView> boxes = boxRepository.findAvailableBoxViews(BoxState.IDLE);
+
+        return boxes.stream()
+                .map(box -> mapToBoxResponse(box, List.of()))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<BoxResponse> getAvailableBoxes(Long afterId, Integer minBattery, Double minRemainingCapacity, int limit) {
+        return getAvailableBoxes(afterId, minBattery, minRemainingCapacity, null, null, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BoxResponse> getAvailableBoxes(Long afterId, Integer minBattery, Double minRemainingCapacity,
+                                               Double minRemainingVolume, Integer minFreeSlots, int limit) {
+        int batteryFloor = minBattery == null ? MIN_LOADING_BATTERY : Math.max(MIN_LOADING_BATTERY, minBattery);
+
+        List<BoxSummaryView> boxes = boxRepository.findAvailableBoxViewsAfter(
+                BoxState.IDLE,
+                batteryFloor,
+                minRemainingCapacity == null ? 0.0 : minRemainingCapacity,
+                minRemainingVolume == null ? 0.0 : minRemainingVolume,
+                minFreeSlots == null ? 0 : minFreeSlots,
+                afterId == null ? 0L : afterId,
+                PageRequest.of(0, limit)
+        );
 
         return boxes.stream()
-                .filter(box -> calculateRemainingCapacity(box) > 0)
-                .map(this::mapToBoxResponse)
+                .map(box -> mapToBoxResponse(box, List.of()))
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public BatteryLevelResponse getBatteryLevel(String txref) {
-        Box box = boxRepository.findByTxref(txref)
-                .orElseThrow(() -> new BoxNotFoundException("Box with txref '" + txref + "' not found"));
+        BatterySnapshot snapshot = getBatterySnapshot(txref);
+        // A telemetry reading that has not been flushed yet is newer than the stored level
+        return batteryTelemetryService.getBufferedLevel(txref)
+                .map(level -> new BatteryLevelResponse(txref, level))
+                .orElse(snapshot.getResponse());
+    }
+
+    // Taken from the cached BoxSnapshot when there is one. A miss reads four columns instead of
+    // loading the box and its lines, and does not populate the snapshot cache.
+    @Transactional(readOnly = true)
+    public BatterySnapshot getBatterySnapshot(String txref) {
+        Optional<BoxSnapshot> cached = boxSnapshotCache.getIfPresent(txref);
+        if (cached.isPresent()) {
+            BoxResponse box = cached.get().getResponse();
+            return new BatterySnapshot(new BatteryLevelResponse(box.getTxref(), box.getBatteryCapacity()), cached.get().getEtag());
+        }
 
-        return new BatteryLevelResponse(box.getTxref(), box.getBatteryCapacity());
+        BoxBatteryView box = boxRepository.findBatteryViewByTxref(txref)
+                .orElseThrow(() -> new BoxNotFoundException("Box with txref '" + txref + "' not found"));
+        return new BatterySnapshot(new BatteryLevelResponse(box.getTxref(), box.getBatteryCapacity()),
+                etagOf(box.getId(), box.getVersion()));
     }
 
     @Transactional(readOnly = true)
     public BoxResponse getBox(String txref) {
-        Box box = boxRepository.findByTxref(txref)
+        return getBoxSnapshot(txref).getResponse();
+    }
+
+    // Summary of the cached snapshot when there is one. A miss reads the box columns only, leaving
+    // the load lines and the snapshot cache alone. The ETag is the full one with a summary suffix, so a
+    // validator taken from one view never revalidates the other.
+    @Transactional(readOnly = true)
+    public BoxSnapshot getBoxSummarySnapshot(String txref) {
+        Optional<BoxSnapshot> cached = boxSnapshotCache.getIfPresent(txref);
+        if (cached.isPresent()) {
+            return new BoxSnapshot(cached.get().getResponse().withItems(null), cached.get().getEtag() + SUMMARY_ETAG_SUFFIX);
+        }
+
+        BoxSummaryView box = boxRepository.findSummaryViewByTxref(txref)
                 .orElseThrow(() -> new BoxNotFoundException("Box with txref '" + txref + "' not found"));
+        return new BoxSnapshot(mapToBoxResponse(box, null), etagOf(box.getId(), box.getVersion()) + SUMMARY_ETAG_SUFFIX);
+    }
+
+    // Built once per box version and shared by getBox and getBatteryLevel until a write evicts it
+    @Transactional(readOnly = true)
+    public BoxSnapshot getBoxSnapshot(String txref) {
+        return boxSnapshotCache.get(txref, key -> {
+            Box box = boxRepository.findWithItemsByTxref(key)
+                    .orElseThrow(() -> new BoxNotFoundException("Box with txref '" + key + "' not found"));
+            return new BoxSnapshot(mapToBoxResponse(box), etagOf(box));
+        });
+    }
+
+    private Optional<Box> findBoxForLoading(String txref) {
+        return lockMode == LoadLockMode.PESSIMISTIC
+                ? boxRepository.findByTxrefForUpdate(txref)
+                : boxRepository.findByTxref(txref);
+    }
+
+    private List<Box> findBoxesForLoading(Collection<String> txrefs) {
+        return lockMode == LoadLockMode.PESSIMISTIC
+                ? boxRepository.findAllByTxrefsForUpdate(txrefs)
+                : boxRepository.findAllByTxrefs(txrefs);
+    }
+
+    // Re-runs an optimistic load whose version check failed on commit. Only retries when this call
+    // owns the transaction; inside a caller's transaction the failure is propagated instead.
+    private <T> T withLoadRetry(Supplier<T> load) {
+        if (lockMode != LoadLockMode.OPTIMISTIC || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return load.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return asLoadConflict(load);
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxLoadAttempts) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    // Hibernate flushes inserts before updates, so when two optimistic loads add the same item code
+    // to a box the second one's new load line hits the (box_id, item_id) index before its versioned
+    // box UPDATE runs. That is the same lost race as a failed version check and is reported as one.
+    private static <T> T asLoadConflict(Supplier<T> load) {
+        try {
+            return load.get();
+        } catch (DataIntegrityViolationException ex) {
+            String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            if (message != null && message.toLowerCase().contains(BoxLoadLine.BOX_ITEM_INDEX)) {
+                throw new OptimisticLockingFailureException("Box was loaded concurrently", ex);
+            }
+            throw ex;
+        }
+    }
+
+    // Units per item code in request order: each listed code counts once, quantities add up
+    static Map<String, Integer> quantitiesByCode(List<String> itemCodes, List<ItemQuantityRequest> items) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        if (itemCodes != null) {
+            itemCodes.forEach(code -> quantities.merge(code, 1, Integer::sum));
+        }
+        if (items != null) {
+            items.forEach(item -> quantities.merge(item.getCode(), item.getQuantity(), Integer::sum));
+        }
+        return quantities;
+    }
+
+    private Map<Item, Integer> resolveItems(Map<String, Integer> quantities) {
+        Map<String, Item> itemsByCode = itemCatalogCache.findAllByCodes(quantities.keySet());
+
+        List<String> missingCodes = findMissingCodes(quantities.keySet(), itemsByCode);
 
-        return mapToBoxResponse(box);
+        if (missingCodes.size() == 1) {
+            throw new ItemNotFoundException("Item with code '" + missingCodes.get(0) + "' not found");
+        }
+        if (!missingCodes.isEmpty()) {
+            throw new ItemNotFoundException("Items with codes " + missingCodes + " not found");
+        }
+
+        return withItems(quantities, itemsByCode);
     }
 
-    private BoxResponse mapToBoxResponse(Box box) {
-        List<ItemResponse> items = box.getItems().stream()
+    private static Map<Item, Integer> withItems(Map<String, Integer> quantities, Map<String, Item> itemsByCode) {
+        Map<Item, Integer> items = new LinkedHashMap<>();
+        quantities.forEach((code, quantity) -> items.put(itemsByCode.get(code), quantity));
+        return items;
+    }
+
+    private List<String> findMissingCodes(Collection<String> itemCodes, Map<String, Item> itemsByCode) {
+        return itemCodes.stream()
+                .filter(code -> !itemsByCode.containsKey(code))
+                .distinct()
+                .toList();
+    }
+
+    BoxResponse mapToBoxResponse(Box box) {
+        List<ItemResponse> items = box.getLoadLines().stream()
                 .map(this::mapToItemResponse)
                 .collect(Collectors.toList());
+        return mapToBoxResponse(box, items);
+    }
+
+    // Summary view: the capacity aggregates only, without touching the load lines
+    BoxResponse mapToBoxSummary(Box box) {
+        return mapToBoxResponse(box, null);
+    }
+
+    private BoxResponse mapToBoxView(Box box, BoxView view) {
+        return view == BoxView.SUMMARY ? mapToBoxSummary(box) : mapToBoxResponse(box);
+    }
 
+    private BoxResponse mapToBoxResponse(Box box, List<ItemResponse> items) {
         double currentWeight = calculateCurrentWeight(box);
         double remainingCapacity = calculateRemainingCapacity(box);
 
@@ -136,26 +462,64 @@ public class BoxService {
                 box.getState(),
                 currentWeight,
                 remainingCapacity,
+                box.getVolumeLimit(),
+                box.getCurrentVolume(),
+                box.getVolumeLimit() - box.getCurrentVolume(),
+                box.getSlotLimit(),
+                box.getUsedSlots(),
+                box.getSlotLimit() - box.getUsedSlots(),
+                items
+        );
+    }
+
+    private String etagOf(Box box) {
+        return etagOf(box.getId(), box.getVersion());
+    }
+
+    // The version is bumped by every write to the row, the id keeps a re-created txref distinct
+    private static String etagOf(Long id, Long version) {
+        return id + "-" + version;
+    }
+
+    // Same response as mapToBoxResponse(Box), built from a column view; summaries pass null items.
+    // Available-box reads pass an empty list: only IDLE boxes are available, and an IDLE box never
+    // carries load lines (see BoxRepository.deleteLoadLinesOfIdleBoxes).
+    BoxResponse mapToBoxResponse(BoxSummaryView box, List<ItemResponse> items) {
+        return new BoxResponse(
+                box.getId(),
+                box.getTxref(),
+                box.getWeightLimit(),
+                box.getBatteryCapacity(),
+                box.getState(),
+                box.getCurrentWeight(),
+                box.getWeightLimit() - box.getCurrentWeight(),
+                box.getVolumeLimit(),
+                box.getCurrentVolume(),
+                box.getVolumeLimit() - box.getCurrentVolume(),
+                box.getSlotLimit(),
+                box.getUsedSlots(),
+                box.getSlotLimit() - box.getUsedSlots(),
                 items
         );
     }
 
-    private Double calculateCurrentWeight(Box box) {
-        return box.getItems().stream()
-                .mapToDouble(Item::getWeight)
-                .sum();
+    Double calculateCurrentWeight(Box box) {
+        return box.getCurrentWeight();
     }
 
     private Double calculateRemainingCapacity(Box box) {
         return box.getWeightLimit() - calculateCurrentWeight(box);
     }
 
-    private ItemResponse mapToItemResponse(Item item) {
+    private ItemResponse mapToItemResponse(BoxLoadLine line) {
+        Item item = line.getItem();
         return new ItemResponse(
                 item.getId(),
                 item.getName(),
-                item.getWeight(),
-                item.getCode()
+                line.getWeight() / line.getQuantity(),
+                item.getCode(),
+                line.getVolume() / line.getQuantity(),
+                line.getQuantity()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.delivery.box.service;
+
+import com.delivery.box.entity.BoxState;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Transition matrix for the delivery lifecycle: every allowed state change, the states it may start
+// from and the state it leads to. BoxLifecycleService applies all but LOAD as conditional UPDATEs.
+public enum BoxTransition {
+    // Applied by BoxService.loadBox, which also has to check battery and weight
+    LOAD(BoxState.LOADED, EnumSet.of(BoxState.IDLE, BoxState.LOADING), false),
+    DISPATCH(BoxState.DELIVERING, EnumSet.of(BoxState.LOADED), false),
+    DELIVER(BoxState.DELIVERED, EnumSet.of(BoxState.DELIVERING), false),
+    RETURN(BoxState.RETURNING, EnumSet.of(BoxState.DELIVERED), false),
+    // Empties the box: items and current weight are cleared along with the state change
+    UNLOAD(BoxState.IDLE, EnumSet.of(BoxState.LOADED, BoxState.RETURNING), true);
+
+    private final BoxState target;
+    private final Set<BoxState> sources;
+    private final boolean clearsCargo;
+
+    BoxTransition(BoxState target, Set<BoxState> sources, boolean clearsCargo) {
+        this.target = target;
+        this.sources = sources;
+        this.clearsCargo = clearsCargo;
+    }
+
+    public BoxState getTarget() {
+        return target;
+    }
+
+    public Set<BoxState> getSources() {
+        return sources;
+    }
+
+    public boolean clearsCargo() {
+        return clearsCargo;
+    }
+
+    public boolean canApplyTo(BoxState state) {
+        return sources.contains(state);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.delivery.box.service;
+
+public enum ItemImportFormat {
+    // Header line naming the name, weight and code columns (any order), then one item per line
+    CSV,
+    // One ItemRequest JSON object per line
+    NDJSON
+}
\ No newline at end of file
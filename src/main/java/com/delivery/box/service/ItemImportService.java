@@ -0,0 +1,254 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.request.ItemRequest;
+import com.delivery.box.dto.response.ItemImportError;
+import com.delivery.box.dto.response.ItemImportResponse;
+import com.delivery.box.entity.Item;
+import com.delivery.box.exception.InvalidOperationException;
+import com.delivery.box.repository.ItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Imports catalogue items from an upload read line by line. Rows are validated with the ItemRequest
+// constraints and collected into chunks; each chunk costs one IN lookup for codes that already exist
+// and one flush of JDBC-batched inserts (ids come from the pooled items_seq) in its own short
+// transaction, so no connection is held while the client is still sending. Codes are deduplicated
+// in memory across the whole upload.
+@Service
+@Slf4j
+public class ItemImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "weight", "code");
+
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ItemImportService(ItemRepository itemRepository,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${box.import.chunk-size:1000}") int chunkSize,
+                             @Value("${box.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.itemRepository = itemRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        // One IN lookup per chunk, so a chunk never exceeds the repository's lookup limit
+        this.chunkSize = Math.max(1, Math.min(chunkSize, ItemRepository.CODE_LOOKUP_CHUNK_SIZE));
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    // Rows are independent: a bad row is reported and skipped, and chunks written before a failure stay
+    // imported. The first occurrence of a code in the upload wins.
+    public ItemImportResponse importItems(BufferedReader lines, ItemImportFormat format) throws IOException {
+        ImportRun run = new ImportRun();
+        Map<String, Integer> csvColumns = null;
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        String line;
+        long lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ItemImportFormat.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line, lineNumber);
+                continue;
+            }
+
+            run.rows++;
+            ImportRow row = format == ItemImportFormat.CSV
+                    ? parseCsvRow(line, lineNumber, csvColumns, run)
+                    : parseJsonRow(line, lineNumber, run);
+            if (row == null || !validate(row, run)) {
+                continue;
+            }
+
+            Long firstLine = run.seenCodes.putIfAbsent(row.item.getCode(), row.line);
+            if (firstLine != null) {
+                run.reject(row.line, row.item.getCode(), "Duplicate code in upload, first seen on line " + firstLine);
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, run);
+        }
+
+        log.info("Imported {} of {} item rows", run.imported, run.rows);
+        // Newly inserted codes need no cache eviction: ItemCatalogCache never caches a miss
+        return new ItemImportResponse(run.rows, run.imported, run.rejected, run.errors, run.errorsTruncated);
+    }
+
+    private void writeChunk(List<ImportRow> chunk, ImportRun run) {
+        List<ImportRow> existing;
+        try {
+            existing = transactionTemplate.execute(status -> {
+                Set<String> existingCodes = new HashSet<>(itemRepository.findExistingCodes(
+                        chunk.stream().map(row -> row.item.getCode()).toList()));
+                Map<Boolean, List<ImportRow>> partitioned = chunk.stream()
+                        .collect(Collectors.partitioningBy(row -> existingCodes.contains(row.item.getCode())));
+
+                itemRepository.saveAllAndFlush(partitioned.get(false).stream()
+                        .map(row -> new Item(null, row.item.getName(), row.item.getWeight(), row.item.getCode(),
+                                row.item.getVolume() == null ? 0.0 : row.item.getVolume()))
+                        .toList());
+                return partitioned.get(true);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Another writer inserted one of these codes after the lookup; the chunk was rolled back
+            log.warn("Item import chunk rejected: {}", ex.getMostSpecificCause().getMessage());
+            chunk.forEach(row -> run.reject(row.line, row.item.getCode(),
+                    "Chunk rejected because a code was created concurrently, please retry"));
+            return;
+        }
+
+        run.imported += chunk.size() - existing.size();
+        existing.forEach(row -> run.reject(row.line, row.item.getCode(),
+                "Item with code '" + row.item.getCode() + "' already exists"));
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line, long lineNumber) {
+        List<String> header = splitCsv(line).stream().map(String::toLowerCase).toList();
+        Map<String, Integer> columns = new HashMap<>();
+        for (String column : CSV_COLUMNS) {
+            int index = header.indexOf(column);
+            if (index < 0) {
+                throw new InvalidOperationException(
+                        "CSV header on line " + lineNumber + " must name the columns " + CSV_COLUMNS);
+            }
+            columns.put(column, index);
+        }
+        // Optional, items without it are not volume-tracked
+        int volumeIndex = header.indexOf("volume");
+        if (volumeIndex >= 0) {
+            columns.put("volume", volumeIndex);
+        }
+        return columns;
+    }
+
+    private ImportRow parseCsvRow(String line, long lineNumber, Map<String, Integer> columns, ImportRun run) {
+        List<String> values = splitCsv(line);
+        String code = value(values, columns.get("code"));
+        int expected = columns.values().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+        if (values.size() < expected) {
+            run.reject(lineNumber, code, "Expected at least " + expected + " columns, found " + values.size());
+            return null;
+        }
+
+        Double weight;
+        Double volume;
+        try {
+            weight = parseNumber(value(values, columns.get("weight")));
+        } catch (NumberFormatException ex) {
+            run.reject(lineNumber, code, "Weight must be a number");
+            return null;
+        }
+        try {
+            volume = columns.containsKey("volume") ? parseNumber(value(values, columns.get("volume"))) : null;
+        } catch (NumberFormatException ex) {
+            run.reject(lineNumber, code, "Volume must be a number");
+            return null;
+        }
+        return new ImportRow(lineNumber, new ItemRequest(value(values, columns.get("name")), weight, code, volume));
+    }
+
+    private ImportRow parseJsonRow(String line, long lineNumber, ImportRun run) {
+        try {
+            return new ImportRow(lineNumber, objectMapper.readValue(line, ItemRequest.class));
+        } catch (JsonProcessingException ex) {
+            run.reject(lineNumber, null, "Malformed JSON");
+            return null;
+        }
+    }
+
+    private boolean validate(ImportRow row, ImportRun run) {
+        Set<ConstraintViolation<ItemRequest>> violations = validator.validate(row.item);
+        if (violations.isEmpty()) {
+            return true;
+        }
+        String message = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        run.reject(row.line, row.item.getCode(), message);
+        return false;
+    }
+
+    // Names and codes cannot contain commas or quotes, so plain splitting is enough; surrounding
+    // quotes are tolerated for files written by spreadsheet exports
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        for (String value : line.split(",", -1)) {
+            String trimmed = value.trim();
+            if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+                trimmed = trimmed.substring(1, trimmed.length() - 1).trim();
+            }
+            values.add(trimmed);
+        }
+        return values;
+    }
+
+    private static Double parseNumber(String raw) {
+        return raw == null || raw.isEmpty() ? null : Double.valueOf(raw);
+    }
+
+    private static String value(List<String> values, int index) {
+        return index < values.size() ? values.get(index) : null;
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final ItemRequest item;
+
+        private ImportRow(long line, ItemRequest item) {
+            this.line = line;
+            this.item = item;
+        }
+    }
+
+    private final class ImportRun {
+        private final Map<String, Long> seenCodes = new HashMap<>();
+        private final List<ItemImportError> errors = new ArrayList<>();
+        private int rows;
+        private int imported;
+        private int rejected;
+        private boolean errorsTruncated;
+
+        private void reject(long line, String code, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ItemImportError(line, code, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
\ No newline at end of file
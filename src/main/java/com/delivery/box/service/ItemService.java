@@ -1,11 +1,13 @@
 package com.delivery.box.service;
 
+import com.delivery.box.cache.ItemCatalogCache;
 import com.delivery.box.dto.request.ItemRequest;
 import com.delivery.box.dto.response.ItemResponse;
 import com.delivery.box.entity.Item;
 import com.delivery.box.exception.InvalidOperationException;
 import com.delivery.box.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,10 +19,11 @@ import java.util.stream.Collectors;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ItemCatalogCache itemCatalogCache;
 
     @Transactional
     public ItemResponse createItem(ItemRequest request) {
-        if (itemRepository.existsByCode(request.getCode())) {
+        if (itemCatalogCache.existsByCode(request.getCode())) {
             throw new InvalidOperationException("Item with code '" + request.getCode() + "' already exists");
         }
 
@@ -28,8 +31,10 @@ public class ItemService {
         item.setName(request.getName());
         item.setWeight(request.getWeight());
         item.setCode(request.getCode());
+        item.setVolume(request.getVolume() == null ? 0.0 : request.getVolume());
 
         Item savedItem = itemRepository.save(item);
+        itemCatalogCache.evict(savedItem.getCode());
         return mapToItemResponse(savedItem);
     }
 
@@ -39,12 +44,26 @@ public class ItemService {
                 .collect(Collectors.toList());
     }
 
-    private ItemResponse mapToItemResponse(Item item) {
+    @Transactional(readOnly = true)
+    public List<ItemResponse> getItems(Long afterId, Double minWeight, Double maxWeight, int limit) {
+        return itemRepository.findItemsAfter(
+                        afterId == null ? 0L : afterId,
+                        minWeight == null ? 0.0 : minWeight,
+                        maxWeight == null ? Double.MAX_VALUE : maxWeight,
+                        PageRequest.of(0, limit)
+                ).stream()
+                .map(this::mapToItemResponse)
+                .collect(Collectors.toList());
+    }
+
+    ItemResponse mapToItemResponse(Item item) {
         return new ItemResponse(
                 item.getId(),
                 item.getName(),
                 item.getWeight(),
-                item.getCode()
+                item.getCode(),
+                item.getVolume(),
+                null
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.delivery.box.service;
+
+// Concurrency control used by BoxService when loading a box, set via box.loading.lock-mode
+public enum LoadLockMode {
+    // Version check on commit, retried up to box.loading.max-attempts times
+    OPTIMISTIC,
+    // SELECT ... FOR UPDATE on the box row for the whole load transaction
+    PESSIMISTIC
+}
\ No newline at end of file
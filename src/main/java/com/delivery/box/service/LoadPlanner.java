@@ -0,0 +1,217 @@
+package com.delivery.box.service;
+
+import java.util.Arrays;
+
+// Bin-packing over primitive arrays so plans for thousands of items and boxes take milliseconds.
+// Items are placed heaviest first and every placement must fit the box's remaining weight, volume
+// and slots (one per item). Both strategies consider boxes largest remaining weight capacity first.
+public final class LoadPlanner {
+
+    public static final int UNASSIGNED = -1;
+
+    private LoadPlanner() {
+    }
+
+    // Weight-only plan: items take no volume and boxes have no slot limit
+    public static int[] plan(double[] itemWeights, double[] boxCapacities, PackingStrategy strategy) {
+        int[] unlimitedSlots = new int[boxCapacities.length];
+        Arrays.fill(unlimitedSlots, Integer.MAX_VALUE);
+        return plan(itemWeights, new double[itemWeights.length], boxCapacities, new double[boxCapacities.length],
+                unlimitedSlots, strategy);
+    }
+
+    // Returns, for every item, the index of the box it is assigned to or UNASSIGNED if it fits nowhere
+    public static int[] plan(double[] itemWeights, double[] itemVolumes,
+                             double[] boxCapacities, double[] boxVolumes, int[] boxSlots, PackingStrategy strategy) {
+        int[] order = indicesByWeightDescending(itemWeights);
+        int[] assignment = new int[itemWeights.length];
+        Arrays.fill(assignment, UNASSIGNED);
+
+        if (boxCapacities.length == 0) {
+            return assignment;
+        }
+
+        int[] boxOrder = indicesByWeightDescending(boxCapacities);
+        double[] sortedCapacities = new double[boxCapacities.length];
+        double[] sortedVolumes = new double[boxCapacities.length];
+        int[] sortedSlots = new int[boxCapacities.length];
+        for (int i = 0; i < boxOrder.length; i++) {
+            sortedCapacities[i] = boxCapacities[boxOrder[i]];
+            sortedVolumes[i] = boxVolumes[boxOrder[i]];
+            sortedSlots[i] = boxSlots[boxOrder[i]];
+        }
+
+        if (strategy == PackingStrategy.BEST_FIT_DECREASING) {
+            bestFitDecreasing(itemWeights, itemVolumes, sortedCapacities, sortedVolumes, sortedSlots, order, assignment);
+        } else {
+            firstFitDecreasing(itemWeights, itemVolumes, sortedCapacities, sortedVolumes, sortedSlots, order, assignment);
+        }
+
+        for (int item = 0; item < assignment.length; item++) {
+            if (assignment[item] != UNASSIGNED) {
+                assignment[item] = boxOrder[assignment[item]];
+            }
+        }
+        return assignment;
+    }
+
+    // One max segment tree per dimension. A subtree is searched only if each of its maxima admits the
+    // item; the maxima may come from different boxes, so the search can backtrack, but with a single
+    // binding dimension it walks straight down in O(log boxes).
+    private static void firstFitDecreasing(double[] itemWeights, double[] itemVolumes, double[] boxCapacities,
+                                           double[] boxVolumes, int[] boxSlots, int[] order, int[] assignment) {
+        int leaves = Integer.highestOneBit(Math.max(1, boxCapacities.length - 1)) << 1;
+        double[] weightTree = new double[2 * leaves];
+        double[] volumeTree = new double[2 * leaves];
+        int[] slotTree = new int[2 * leaves];
+        Arrays.fill(weightTree, Double.NEGATIVE_INFINITY);
+        Arrays.fill(volumeTree, Double.NEGATIVE_INFINITY);
+        System.arraycopy(boxCapacities, 0, weightTree, leaves, boxCapacities.length);
+        System.arraycopy(boxVolumes, 0, volumeTree, leaves, boxVolumes.length);
+        System.arraycopy(boxSlots, 0, slotTree, leaves, boxSlots.length);
+        for (int node = leaves - 1; node > 0; node--) {
+            pull(weightTree, volumeTree, slotTree, node);
+        }
+
+        for (int item : order) {
+            double weight = itemWeights[item];
+            double volume = itemVolumes[item];
+            int node = leftmostFit(weightTree, volumeTree, slotTree, leaves, 1, weight, volume);
+            if (node == UNASSIGNED) {
+                continue;
+            }
+            assignment[item] = node - leaves;
+
+            weightTree[node] -= weight;
+            volumeTree[node] -= volume;
+            slotTree[node]--;
+            for (node >>= 1; node > 0; node >>= 1) {
+                pull(weightTree, volumeTree, slotTree, node);
+            }
+        }
+    }
+
+    private static int leftmostFit(double[] weightTree, double[] volumeTree, int[] slotTree, int leaves,
+                                   int node, double weight, double volume) {
+        if (weightTree[node] < weight || volumeTree[node] < volume || slotTree[node] < 1) {
+            return UNASSIGNED;
+        }
+        if (node >= leaves) {
+            return node;
+        }
+        int found = leftmostFit(weightTree, volumeTree, slotTree, leaves, 2 * node, weight, volume);
+        return found != UNASSIGNED ? found : leftmostFit(weightTree, volumeTree, slotTree, leaves, 2 * node + 1, weight, volume);
+    }
+
+    private static void pull(double[] weightTree, double[] volumeTree, int[] slotTree, int node) {
+        weightTree[node] = Math.max(weightTree[2 * node], weightTree[2 * node + 1]);
+        volumeTree[node] = Math.max(volumeTree[2 * node], volumeTree[2 * node + 1]);
+        slotTree[node] = Math.max(slotTree[2 * node], slotTree[2 * node + 1]);
+    }
+
+    // Opened boxes are kept sorted by remaining weight so the tightest weight fit is a binary search
+    // away; from there the scan moves to looser boxes until one also has the volume and a free slot
+    private static void bestFitDecreasing(double[] itemWeights, double[] itemVolumes, double[] boxCapacities,
+                                          double[] boxVolumes, int[] boxSlots, int[] order, int[] assignment) {
+        double[] openRemaining = new double[boxCapacities.length];
+        int[] openBoxes = new int[boxCapacities.length];
+        double[] remainingVolumes = boxVolumes.clone();
+        int[] remainingSlots = boxSlots.clone();
+        boolean[] opened = new boolean[boxCapacities.length];
+        int openCount = 0;
+        int nextUnopened = 0;
+
+        for (int item : order) {
+            double weight = itemWeights[item];
+            double volume = itemVolumes[item];
+
+            int slot = lowerBound(openRemaining, openCount, weight);
+            while (slot < openCount && (remainingVolumes[openBoxes[slot]] < volume || remainingSlots[openBoxes[slot]] < 1)) {
+                slot++;
+            }
+            int box;
+            double remaining;
+            if (slot < openCount) {
+                box = openBoxes[slot];
+                remaining = openRemaining[slot];
+                System.arraycopy(openRemaining, slot + 1, openRemaining, slot, openCount - slot - 1);
+                System.arraycopy(openBoxes, slot + 1, openBoxes, slot, openCount - slot - 1);
+                openCount--;
+            } else {
+                while (nextUnopened < boxCapacities.length && opened[nextUnopened]) {
+                    nextUnopened++;
+                }
+                // Unopened boxes are sorted largest first, so the scan stops at the first one too small by weight
+                box = UNASSIGNED;
+                for (int candidate = nextUnopened; candidate < boxCapacities.length && boxCapacities[candidate] >= weight; candidate++) {
+                    if (!opened[candidate] && remainingVolumes[candidate] >= volume && remainingSlots[candidate] >= 1) {
+                        box = candidate;
+                        break;
+                    }
+                }
+                if (box == UNASSIGNED) {
+                    continue;
+                }
+                opened[box] = true;
+                remaining = boxCapacities[box];
+            }
+
+            assignment[item] = box;
+            remaining -= weight;
+            remainingVolumes[box] -= volume;
+            remainingSlots[box]--;
+
+            int insertAt = lowerBound(openRemaining, openCount, remaining);
+            System.arraycopy(openRemaining, insertAt, openRemaining, insertAt + 1, openCount - insertAt);
+            System.arraycopy(openBoxes, insertAt, openBoxes, insertAt + 1, openCount - insertAt);
+            openRemaining[insertAt] = remaining;
+            openBoxes[insertAt] = box;
+            openCount++;
+        }
+    }
+
+    // First index in sorted[0..length) whose value is >= key
+    private static int lowerBound(double[] sorted, int length, double key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Stable merge sort of item indices by weight, heaviest first, without boxing
+    private static int[] indicesByWeightDescending(double[] weights) {
+        int[] indices = new int[weights.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        int[] buffer = new int[weights.length];
+
+        for (int width = 1; width < indices.length; width <<= 1) {
+            for (int from = 0; from < indices.length - width; from += width << 1) {
+                int mid = from + width;
+                int to = Math.min(from + (width << 1), indices.length);
+                int left = from;
+                int right = mid;
+                int out = from;
+                while (left < mid && right < to) {
+                    buffer[out++] = weights[indices[right]] > weights[indices[left]] ? indices[right++] : indices[left++];
+                }
+                while (left < mid) {
+                    buffer[out++] = indices[left++];
+                }
+                while (right < to) {
+                    buffer[out++] = indices[right++];
+                }
+                System.arraycopy(buffer, from, indices, from, to - from);
+            }
+        }
+        return indices;
+    }
+}
\ No newline at end of file
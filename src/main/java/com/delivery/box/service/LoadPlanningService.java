@@ -0,0 +1,117 @@
+package com.delivery.box.service;
+
+import com.delivery.box.cache.ItemCatalogCache;
+import com.delivery.box.dto.projection.BoxSummaryView;
+import com.delivery.box.dto.request.BoxLoadRequest;
+import com.delivery.box.dto.request.BulkLoadRequest;
+import com.delivery.box.dto.request.LoadPlanRequest;
+import com.delivery.box.dto.response.BulkLoadResponse;
+import com.delivery.box.dto.response.LoadPlanResponse;
+import com.delivery.box.dto.response.PlannedBoxLoad;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.entity.Item;
+import com.delivery.box.exception.ItemNotFoundException;
+import com.delivery.box.repository.BoxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class LoadPlanningService {
+
+    private final BoxRepository boxRepository;
+    private final ItemCatalogCache itemCatalogCache;
+    private final BoxService boxService;
+
+    // Not transactional itself: the plan is read first, then executed through BoxService.loadBoxes,
+    // which re-validates every box in its own transaction
+    public LoadPlanResponse planLoad(LoadPlanRequest request) {
+        LoadPlanResponse plan = computePlan(request);
+
+        if (request.isExecute() && !plan.getAssignments().isEmpty()) {
+            List<BoxLoadRequest> loads = plan.getAssignments().stream()
+                    .map(assignment -> new BoxLoadRequest(assignment.getTxref(), assignment.getItemCodes()))
+                    .collect(Collectors.toList());
+            BulkLoadResponse execution = boxService.loadBoxes(new BulkLoadRequest(loads, true));
+            plan.setExecution(execution);
+        }
+
+        return plan;
+    }
+
+    private LoadPlanResponse computePlan(LoadPlanRequest request) {
+        PackingStrategy strategy = request.getStrategy() == null
+                ? PackingStrategy.FIRST_FIT_DECREASING
+                : request.getStrategy();
+        List<String> itemCodes = request.getItemCodes();
+
+        Map<String, Item> itemsByCode = itemCatalogCache.findAllByCodes(itemCodes);
+        List<String> missingCodes = itemCodes.stream()
+                .filter(code -> !itemsByCode.containsKey(code))
+                .distinct()
+                .toList();
+        if (!missingCodes.isEmpty()) {
+            throw new ItemNotFoundException("Items with codes " + missingCodes + " not found");
+        }
+
+        // Capacity columns only; entities are loaded on execute, and only for the boxes the plan uses
+        List<BoxSummaryView> boxes = boxRepository.findAvailableBoxViews(BoxState.IDLE);
+
+        double[] itemWeights = new double[itemCodes.size()];
+        double[] itemVolumes = new double[itemCodes.size()];
+        for (int i = 0; i < itemWeights.length; i++) {
+            Item item = itemsByCode.get(itemCodes.get(i));
+            itemWeights[i] = item.getWeight();
+            itemVolumes[i] = item.getVolume();
+        }
+        double[] boxCapacities = new double[boxes.size()];
+        double[] boxVolumes = new double[boxes.size()];
+        int[] boxSlots = new int[boxes.size()];
+        for (int i = 0; i < boxCapacities.length; i++) {
+            BoxSummaryView box = boxes.get(i);
+            boxCapacities[i] = box.getWeightLimit() - box.getCurrentWeight();
+            boxVolumes[i] = box.getVolumeLimit() - box.getCurrentVolume();
+            boxSlots[i] = box.getSlotLimit() - box.getUsedSlots();
+        }
+
+        int[] assignment = LoadPlanner.plan(itemWeights, itemVolumes, boxCapacities, boxVolumes, boxSlots, strategy);
+
+        List<List<String>> codesPerBox = new ArrayList<>(boxes.size());
+        double[] plannedWeights = new double[boxes.size()];
+        for (int i = 0; i < boxes.size(); i++) {
+            codesPerBox.add(null);
+        }
+        List<String> unassigned = new ArrayList<>();
+        for (int item = 0; item < assignment.length; item++) {
+            int box = assignment[item];
+            if (box == LoadPlanner.UNASSIGNED) {
+                unassigned.add(itemCodes.get(item));
+                continue;
+            }
+            if (codesPerBox.get(box) == null) {
+                codesPerBox.set(box, new ArrayList<>());
+            }
+            codesPerBox.get(box).add(itemCodes.get(item));
+            plannedWeights[box] += itemWeights[item];
+        }
+
+        List<PlannedBoxLoad> assignments = new ArrayList<>();
+        for (int box = 0; box < boxes.size(); box++) {
+            if (codesPerBox.get(box) != null) {
+                assignments.add(new PlannedBoxLoad(
+                        boxes.get(box).getTxref(),
+                        codesPerBox.get(box),
+                        plannedWeights[box],
+                        boxCapacities[box] - plannedWeights[box]
+                ));
+            }
+        }
+
+        return new LoadPlanResponse(strategy, assignments.size(), assignments, unassigned, null);
+    }
+}
\ No newline at end of file
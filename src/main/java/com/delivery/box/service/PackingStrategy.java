@@ -0,0 +1,9 @@
+package com.delivery.box.service;
+
+// Heuristic used by LoadPlanner to assign items to boxes
+public enum PackingStrategy {
+    // Heaviest item first, into the first box (largest capacity first) it fits in
+    FIRST_FIT_DECREASING,
+    // Heaviest item first, into the already used box it leaves the least room in; opens a new box only when none fits
+    BEST_FIT_DECREASING
+}
\ No newline at end of file
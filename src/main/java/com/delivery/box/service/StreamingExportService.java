@@ -0,0 +1,99 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.request.BoxView;
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.entity.Box;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.entity.Item;
+import com.delivery.box.repository.BoxRepository;
+import com.delivery.box.repository.ItemRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes large result sets as NDJSON while the database cursor is still open. Rows are handled in
+// chunks: a chunk is mapped (one batched items query per chunk of boxes), written and flushed to
+// the client, then detached, so memory stays flat however many rows there are.
+@Service
+@RequiredArgsConstructor
+public class StreamingExportService {
+
+    static final int CHUNK_SIZE = 100;
+
+    private final BoxRepository boxRepository;
+    private final ItemRepository itemRepository;
+    private final BoxService boxService;
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void writeAvailableBoxes(Integer minBattery, Double minRemainingCapacity, OutputStream out) throws IOException {
+        writeAvailableBoxes(minBattery, minRemainingCapacity, null, null, BoxView.FULL, out);
+    }
+
+    // The summary view never initialises the load lines, so no per-chunk item queries are made
+    @Transactional(readOnly = true)
+    public void writeAvailableBoxes(Integer minBattery, Double minRemainingCapacity, Double minRemainingVolume,
+                                    Integer minFreeSlots, BoxView view, OutputStream out) throws IOException {
+        int batteryFloor = minBattery == null ? BoxService.MIN_LOADING_BATTERY : Math.max(BoxService.MIN_LOADING_BATTERY, minBattery);
+
+        try (Stream<Box> boxes = boxRepository.streamAvailableBoxes(
+                BoxState.IDLE, batteryFloor, minRemainingCapacity == null ? 0.0 : minRemainingCapacity,
+                minRemainingVolume == null ? 0.0 : minRemainingVolume, minFreeSlots == null ? 0 : minFreeSlots)) {
+            Function<Box, BoxResponse> mapper = view == BoxView.SUMMARY ? boxService::mapToBoxSummary : boxService::mapToBoxResponse;
+            writeNdjson(boxes, mapper, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeItems(Double minWeight, Double maxWeight, OutputStream out) throws IOException {
+        try (Stream<Item> items = itemRepository.streamItems(
+                minWeight == null ? 0.0 : minWeight, maxWeight == null ? Double.MAX_VALUE : maxWeight)) {
+            writeNdjson(items, itemService::mapToItemResponse, out);
+        }
+    }
+
+    private <T> void writeNdjson(Stream<T> rows, Function<T, ?> mapper, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            // The chunk is written before the cursor is advanced again, so no row is read into the
+            // persistence context just before it is cleared
+            Iterator<T> iterator = rows.iterator();
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(writer, generator, chunk, mapper);
+                }
+            }
+            writeChunk(writer, generator, chunk, mapper);
+        }
+    }
+
+    private <T> void writeChunk(ObjectWriter writer, JsonGenerator generator, List<T> chunk, Function<T, ?> mapper) throws IOException {
+        for (T row : chunk) {
+            writer.writeValue(generator, mapper.apply(row));
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        chunk.clear();
+        entityManager.clear();
+    }
+}
\ No newline at end of file
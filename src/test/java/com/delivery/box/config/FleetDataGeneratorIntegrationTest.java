@@ -0,0 +1,80 @@
+package com.delivery.box.config;
+
+import com.delivery.box.entity.Box;
+import com.delivery.box.entity.BoxLoadLine;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.repository.BoxRepository;
+import com.delivery.box.repository.ItemRepository;
+import com.delivery.box.service.BoxService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FleetDataGeneratorIntegrationTest {
+
+    @Autowired
+    private FleetDataGenerator fleetDataGenerator;
+
+    @Autowired
+    private BoxRepository boxRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void generate_MixedProfile_CargoMatchesWeightAndLimits() {
+        long boxesBefore = boxRepository.count();
+        long itemsBefore = itemRepository.count();
+
+        fleetDataGenerator.generate("GEN", 1200, 300, FleetProfile.MIXED, 1L);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(boxesBefore + 1200, boxRepository.count());
+        assertEquals(itemsBefore + 300, itemRepository.count());
+        assertTrue(itemRepository.findByCode(FleetDataGenerator.itemCodeOf("GEN", 299)).isPresent());
+
+        List<Box> boxes = boxRepository.findAllByTxrefs(IntStream.range(0, 1200)
+                .mapToObj(i -> FleetDataGenerator.txrefOf("GEN", i))
+                .toList());
+        assertEquals(1200, boxes.size());
+        assertTrue(boxes.stream().anyMatch(box -> box.getState() == BoxState.IDLE));
+        assertTrue(boxes.stream().anyMatch(box -> box.getState() == BoxState.DELIVERING));
+        for (Box box : boxes) {
+            double cargo = box.getLoadLines().stream().mapToDouble(BoxLoadLine::getWeight).sum();
+            assertEquals(cargo, box.getCurrentWeight(), 0.001);
+            assertTrue(box.getCurrentWeight() <= box.getWeightLimit());
+            if (box.getState() == BoxState.LOADED || box.getState() == BoxState.DELIVERING) {
+                assertFalse(box.getLoadLines().isEmpty());
+                assertTrue(box.getBatteryCapacity() >= BoxService.MIN_LOADING_BATTERY);
+            } else {
+                assertTrue(box.getLoadLines().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void generate_IdleProfile_EveryBoxIdleAndEmpty() {
+        fleetDataGenerator.generate("IDL", 50, 10, FleetProfile.IDLE, 1L);
+        entityManager.flush();
+        entityManager.clear();
+
+        Box box = boxRepository.findByTxref(FleetDataGenerator.txrefOf("IDL", 49)).orElseThrow();
+        assertEquals(BoxState.IDLE, box.getState());
+        assertEquals(0.0, box.getCurrentWeight());
+    }
+}
\ No newline at end of file
@@ -2,7 +2,11 @@ package com.delivery.box.controller;
 
 import com.delivery.box.dto.request.BoxRequest;
 import com.delivery.box.dto.request.LoadItemsRequest;
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.service.BatteryTelemetryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -10,11 +14,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,6 +36,9 @@ class BoxControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private BatteryTelemetryService batteryTelemetryService;
+
     @Test
     void createBox_Success() throws Exception {
         BoxRequest request = new BoxRequest("BOX888", 500.0, 80);
@@ -100,6 +109,25 @@ class BoxControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", containsString("battery level below 25%")));
     }
 
+    @Test
+    void loadBox_WithQuantities_ReturnsQuantityPerItem() throws Exception {
+        mockMvc.perform(post("/api/boxes/BOX001/load")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"code\":\"MED_006\",\"quantity\":4}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].quantity").value(4))
+                .andExpect(jsonPath("$.currentWeight").value(100.0));
+    }
+
+    @Test
+    void loadBox_NoItems_Returns400() throws Exception {
+        mockMvc.perform(post("/api/boxes/BOX001/load")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemCodes\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void loadBox_WeightExceeded_Returns400() throws Exception {
         LoadItemsRequest request = new LoadItemsRequest(List.of("MED_009"));
@@ -157,6 +185,35 @@ class BoxControllerIntegrationTest {
                 .andExpect(jsonPath("$[*].batteryCapacity", everyItem(greaterThanOrEqualTo(25))));
     }
 
+    @Test
+    void getAvailableBoxes_Paginated_ReturnsNextCursor() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get("/api/boxes/available").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].txref").value("BOX001"))
+                .andExpect(jsonPath("$[1].txref").value("BOX002"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/boxes/available").param("after", cursor).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].txref").value("BOX003"));
+    }
+
+    @Test
+    void getAvailableBoxes_FilteredByBatteryAndCapacity() throws Exception {
+        mockMvc.perform(get("/api/boxes/available")
+                        .param("minBattery", "80")
+                        .param("minRemainingCapacity", "450"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].txref", hasItem("BOX001")))
+                .andExpect(jsonPath("$[*].txref", not(hasItem("BOX002")))) // 400gr limit
+                .andExpect(jsonPath("$[*].txref", not(hasItem("BOX003")))) // 50% battery
+                .andExpect(jsonPath("$[*].batteryCapacity", everyItem(greaterThanOrEqualTo(80))));
+    }
+
     @Test
     void getBatteryLevel_Success() throws Exception {
         mockMvc.perform(get("/api/boxes/BOX001/battery"))
@@ -191,4 +248,195 @@ class BoxControllerIntegrationTest {
                 .andExpect(jsonPath("$.currentWeight").value(155.0))
                 .andExpect(jsonPath("$.remainingCapacity").value(45.0));
     }
+
+    @Test
+    void getBox_SummaryView_OmitsItems() throws Exception {
+        mockMvc.perform(get("/api/boxes/BOX006").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").doesNotExist())
+                .andExpect(jsonPath("$.usedSlots").value(3))
+                .andExpect(jsonPath("$.currentWeight").value(155.0))
+                .andExpect(jsonPath("$.remainingCapacity").value(45.0));
+    }
+
+    @Test
+    void getBox_UnknownView_Returns400() throws Exception {
+        mockMvc.perform(get("/api/boxes/BOX006").param("view", "compact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("summary")));
+    }
+
+    @Test
+    void loadBox_SummaryView_OmitsItems() throws Exception {
+        LoadItemsRequest request = new LoadItemsRequest(List.of("MED_001", "MED_002"));
+
+        mockMvc.perform(post("/api/boxes/BOX001/load")
+                        .param("view", "SUMMARY")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").doesNotExist())
+                .andExpect(jsonPath("$.usedSlots").value(2))
+                .andExpect(jsonPath("$.currentWeight").value(125.0));
+    }
+
+    @Test
+    void createBox_Cbor_RequestAndResponse() throws Exception {
+        CBORMapper cborMapper = new CBORMapper();
+        BoxRequest request = new BoxRequest("BOX888", 500.0, 80, 3000.0, 10);
+
+        byte[] body = mockMvc.perform(post("/api/boxes")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        BoxResponse response = cborMapper.readValue(body, BoxResponse.class);
+        assertEquals("BOX888", response.getTxref());
+        assertEquals(3000.0, response.getVolumeLimit());
+        assertEquals(10, response.getRemainingSlots());
+    }
+
+    @Test
+    void getBox_Smile_SmallerThanJson() throws Exception {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        byte[] json = mockMvc.perform(get("/api/boxes/BOX006"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] binary = mockMvc.perform(get("/api/boxes/BOX006").accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        BoxResponse response = new SmileMapper().readValue(binary, BoxResponse.class);
+        assertEquals(3, response.getItems().size());
+        assertEquals(objectMapper.readValue(json, BoxResponse.class), response);
+        assertTrue(binary.length < json.length);
+    }
+
+    @Test
+    void getBox_MatchingEtag_Returns304() throws Exception {
+        String etag = mockMvc.perform(get("/api/boxes/BOX001"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/boxes/BOX001").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/boxes/BOX001/battery").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getBox_SummaryView_HasItsOwnEtag() throws Exception {
+        String fullEtag = mockMvc.perform(get("/api/boxes/BOX006"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String summaryEtag = mockMvc.perform(get("/api/boxes/BOX006")
+                        .param("view", "summary")
+                        .header("If-None-Match", fullEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(fullEtag)))
+                .andExpect(jsonPath("$.items").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/boxes/BOX006").param("view", "summary").header("If-None-Match", summaryEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/boxes/BOX006").header("If-None-Match", summaryEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray());
+    }
+
+    @Test
+    void getBox_StaleEtagAfterLoad_ReturnsNewBody() throws Exception {
+        String etag = mockMvc.perform(get("/api/boxes/BOX001"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(post("/api/boxes/BOX001/load")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoadItemsRequest(List.of("MED_001")))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/boxes/BOX001").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.state").value("LOADED"));
+    }
+
+    @Test
+    void dispatchBox_LoadedBox_Success() throws Exception {
+        mockMvc.perform(post("/api/boxes/BOX006/dispatch"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("DELIVERING"));
+    }
+
+    @Test
+    void dispatchBox_IdleBox_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/boxes/BOX001/dispatch"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void transitionBoxes_Bulk_Success() throws Exception {
+        String body = "{\"transition\":\"DELIVER\",\"txrefs\":[\"BOX007\",\"BOX001\"]}";
+
+        mockMvc.perform(post("/api/boxes/transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.targetState").value("DELIVERED"))
+                .andExpect(jsonPath("$.transitioned").value(1))
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+
+    @Test
+    void ingestBatteryTelemetry_Ndjson_ServedBeforeFlush() throws Exception {
+        String body = "{\"txref\":\"BOX002\",\"batteryCapacity\":30}\n{\"txref\":\"BOX003\",\"batteryCapacity\":20}\n";
+
+        mockMvc.perform(post("/api/boxes/telemetry/battery")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.dropped").value(0));
+
+        mockMvc.perform(get("/api/boxes/BOX002/battery"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.batteryCapacity").value(30));
+
+        batteryTelemetryService.flush();
+    }
+
+    @Test
+    void getAvailableBoxes_Ndjson_StreamsOneBoxPerLine() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/boxes/available").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(startsWith("{\"id\":1,\"txref\":\"BOX001\"")))
+                .andExpect(content().string(not(containsString("BOX004"))));
+    }
+
+    @Test
+    void importItems_Csv_ReportsRejectedRows() throws Exception {
+        String body = "name,weight,code\nGauze,12.5,MED_500\nBad Name,10,MED_501\n";
+
+        mockMvc.perform(post("/api/items/import")
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].code").value("MED_501"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.delivery.box.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Own H2 database: this context has metrics export enabled and must not share schema with the others
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metricsdb;LOCK_TIMEOUT=10000",
+        "management.endpoints.web.exposure.include=prometheus"
+})
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpoint_ExposesRequestQueryAndFleetMetrics() throws Exception {
+        mockMvc.perform(get("/api/boxes/BOX006"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds")))
+                .andExpect(content().string(containsString("box_http_queries_count{method=\"GET\",uri=\"/api/boxes/{txref}\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+                .andExpect(content().string(containsString("box_hibernate_statements_total")))
+                .andExpect(content().string(containsString("box_fleet_boxes{state=\"LOADED\"")))
+                .andExpect(content().string(containsString("box_fleet_low_battery")));
+    }
+
+    @Test
+    void prometheusEndpoint_LeavesAsyncRequestsOutOfQueryHistogram() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/boxes/available").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("box_http_queries_count{method=\"GET\",uri=\"/api/boxes/available\""))));
+    }
+}
\ No newline at end of file
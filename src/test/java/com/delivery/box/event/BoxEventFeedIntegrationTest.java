@@ -0,0 +1,179 @@
+package com.delivery.box.event;
+
+import com.delivery.box.dto.request.BoxLoadRequest;
+import com.delivery.box.dto.request.BoxRequest;
+import com.delivery.box.dto.request.BulkLoadRequest;
+import com.delivery.box.dto.request.LoadItemsRequest;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.repository.BoxRepository;
+import com.delivery.box.service.BoxLifecycleService;
+import com.delivery.box.service.BoxService;
+import com.delivery.box.service.BoxTransition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: events are only delivered once the publishing transaction commits
+@SpringBootTest
+@ActiveProfiles("test")
+class BoxEventFeedIntegrationTest {
+
+    private static final String TXREF = "EVT_BOX";
+
+    @Autowired
+    private BoxEventFeed boxEventFeed;
+
+    @Autowired
+    private BoxService boxService;
+
+    @Autowired
+    private BoxLifecycleService boxLifecycleService;
+
+    @Autowired
+    private BoxRepository boxRepository;
+
+    @AfterEach
+    void cleanUp() {
+        boxRepository.findByTxref(TXREF).ifPresent(boxRepository::delete);
+    }
+
+    @Test
+    void subscribe_ReceivesCommittedChangesInOrder() throws Exception {
+        List<BoxChangedEvent> received = new CopyOnWriteArrayList<>();
+        BoxEventFeed.Subscription subscription = boxEventFeed.subscribe(List.of(TXREF), false,
+                (id, event) -> received.add(event));
+        try {
+            boxService.createBox(new BoxRequest(TXREF, 500.0, 100));
+            boxService.loadBox(TXREF, new LoadItemsRequest(List.of("MED_001")));
+            boxLifecycleService.transition(TXREF, BoxTransition.DISPATCH);
+
+            awaitSize(received, 3);
+            assertEquals(List.of(BoxChangeType.CREATED, BoxChangeType.LOADED, BoxChangeType.STATE),
+                    received.stream().map(BoxChangedEvent::getType).toList());
+            assertTrue(received.get(0).getAvailable());
+            assertEquals(50.0, received.get(1).getCurrentWeight());
+            assertEquals(BoxState.DELIVERING, received.get(2).getState());
+            assertFalse(received.get(2).getAvailable());
+        } finally {
+            subscription.cancel();
+        }
+    }
+
+    @Test
+    void subscribe_RolledBackBulkLoad_PublishesNothing() throws Exception {
+        List<BoxChangedEvent> received = new CopyOnWriteArrayList<>();
+        BoxEventFeed.Subscription subscription = boxEventFeed.subscribe(List.of(), true,
+                (id, event) -> received.add(event));
+        try {
+            boxService.loadBoxes(new BulkLoadRequest(List.of(
+                    new BoxLoadRequest("BOX001", List.of("MED_001")),
+                    new BoxLoadRequest("BOXNOTEXIST", List.of("MED_001"))
+            ), true));
+
+            Thread.sleep(200);
+            assertTrue(received.isEmpty());
+        } finally {
+            subscription.cancel();
+        }
+    }
+
+    @Test
+    void subscribe_SlowSubscriber_DropsOldestEvents() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<BoxChangedEvent> received = new CopyOnWriteArrayList<>();
+        BoxEventFeed.Subscription subscription = boxEventFeed.subscribe(List.of("DROP_BOX"), false, (id, event) -> {
+            release.await(5, TimeUnit.SECONDS);
+            received.add(event);
+        });
+        try {
+            int published = 1000;
+            for (int i = 0; i < published; i++) {
+                boxEventFeed.onBoxChanged(BoxChangedEvent.battery("DROP_BOX", i % 101));
+            }
+            release.countDown();
+
+            awaitStable(received);
+            assertTrue(received.size() < published);
+            // The newest event is never the one dropped
+            assertEquals((published - 1) % 101, received.get(received.size() - 1).getBatteryCapacity());
+        } finally {
+            subscription.cancel();
+        }
+    }
+
+    @Test
+    void subscribe_StalledSubscriber_DoesNotDelayOthers() throws Exception {
+        BoxEventFeed feed = new BoxEventFeed(new SimpleMeterRegistry(), 256, 1, 60_000);
+        CountDownLatch release = new CountDownLatch(1);
+        List<BoxChangedEvent> received = new CopyOnWriteArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                feed.subscribe(List.of("STALL_BOX"), false, (id, event) -> release.await(10, TimeUnit.SECONDS));
+            }
+            feed.subscribe(List.of("STALL_BOX"), false, (id, event) -> received.add(event));
+
+            feed.onBoxChanged(BoxChangedEvent.battery("STALL_BOX", 50));
+
+            awaitSize(received, 1);
+        } finally {
+            release.countDown();
+            feed.shutdown();
+        }
+    }
+
+    @Test
+    void subscribe_SendBlockedPastTimeout_ClosesSubscription() throws Exception {
+        BoxEventFeed feed = new BoxEventFeed(new SimpleMeterRegistry(), 256, 1, 200);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        try {
+            feed.subscribe(List.of("STALL_BOX"), false,
+                    (id, event) -> release.await(10, TimeUnit.SECONDS), closed::countDown);
+
+            feed.onBoxChanged(BoxChangedEvent.battery("STALL_BOX", 50));
+
+            assertTrue(closed.await(5, TimeUnit.SECONDS));
+            assertEquals(0, feed.getSubscriberCount());
+        } finally {
+            release.countDown();
+            feed.shutdown();
+        }
+    }
+
+    @Test
+    void cancel_RemovesSubscriber() {
+        int before = boxEventFeed.getSubscriberCount();
+        BoxEventFeed.Subscription subscription = boxEventFeed.subscribe(List.of(TXREF), true, (id, event) -> { });
+
+        assertEquals(before + 1, boxEventFeed.getSubscriberCount());
+        subscription.cancel();
+        subscription.cancel();
+        assertEquals(before, boxEventFeed.getSubscriberCount());
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (list.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, list.size());
+    }
+
+    private static void awaitStable(List<?> list) throws InterruptedException {
+        int last;
+        do {
+            last = list.size();
+            Thread.sleep(100);
+        } while (list.size() != last);
+    }
+}
\ No newline at end of file
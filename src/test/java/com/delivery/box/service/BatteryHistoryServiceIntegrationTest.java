@@ -0,0 +1,99 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.response.BatteryHistoryBucket;
+import com.delivery.box.dto.response.BatteryHistoryResponse;
+import com.delivery.box.entity.BatteryReading;
+import com.delivery.box.exception.BoxNotFoundException;
+import com.delivery.box.exception.InvalidOperationException;
+import com.delivery.box.repository.BatteryReadingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BatteryHistoryServiceIntegrationTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    @Autowired
+    private BatteryHistoryService batteryHistoryService;
+
+    @Autowired
+    private BatteryTelemetryService batteryTelemetryService;
+
+    @Autowired
+    private BatteryReadingRepository batteryReadingRepository;
+
+    @Test
+    void getHistory_DownsamplesPerBucket() {
+        // BOX001 has id 1: readings every 10 minutes over two hours, draining 1% each
+        List<BatteryReading> readings = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            readings.add(new BatteryReading(null, 1L, i * 10 * 60 * 1000L, 100 - i));
+        }
+        batteryReadingRepository.saveAll(readings);
+
+        BatteryHistoryResponse response = batteryHistoryService.getHistory("BOX001", 0L, 2 * HOUR, HOUR);
+
+        assertEquals(HOUR, response.getBucketMillis());
+        assertEquals(2, response.getBuckets().size());
+
+        BatteryHistoryBucket first = response.getBuckets().get(0);
+        assertEquals(0L, first.getBucketStart());
+        assertEquals(95, first.getMinLevel());
+        assertEquals(100, first.getMaxLevel());
+        assertEquals(97.5, first.getAvgLevel(), 0.001);
+        assertEquals(6, first.getReadings());
+        assertEquals(HOUR, response.getBuckets().get(1).getBucketStart());
+    }
+
+    @Test
+    void getHistory_LongRange_WidensBucketToCap() {
+        long thirtyDays = 30 * 24 * HOUR;
+
+        BatteryHistoryResponse response = batteryHistoryService.getHistory("BOX001", 0L, thirtyDays, 1000L);
+
+        assertEquals(thirtyDays / 500, response.getBucketMillis());
+        assertTrue(response.getBuckets().isEmpty());
+    }
+
+    @Test
+    void getHistory_IncludesFlushedTelemetry() throws IOException {
+        batteryTelemetryService.ingest(new BufferedReader(new StringReader(
+                "{\"txref\":\"BOX002\",\"batteryCapacity\":80,\"recordedAt\":1000}\n" +
+                "{\"txref\":\"BOX002\",\"batteryCapacity\":79,\"recordedAt\":2000}\n" +
+                "{\"txref\":\"BOXNOTEXIST\",\"batteryCapacity\":50,\"recordedAt\":2000}")));
+        batteryTelemetryService.flush();
+
+        BatteryHistoryResponse response = batteryHistoryService.getHistory("BOX002", 0L, HOUR, HOUR);
+
+        assertEquals(1, response.getBuckets().size());
+        assertEquals(2, response.getBuckets().get(0).getReadings());
+        assertEquals(79, response.getBuckets().get(0).getMinLevel());
+        assertEquals(2, batteryReadingRepository.count());
+    }
+
+    @Test
+    void getHistory_InvalidRange_ThrowsException() {
+        assertThrows(InvalidOperationException.class,
+                () -> batteryHistoryService.getHistory("BOX001", HOUR, 0L, null));
+    }
+
+    @Test
+    void getHistory_NonExistentBox_ThrowsException() {
+        assertThrows(BoxNotFoundException.class,
+                () -> batteryHistoryService.getHistory("BOXNOTEXIST", null, null, null));
+    }
+}
\ No newline at end of file
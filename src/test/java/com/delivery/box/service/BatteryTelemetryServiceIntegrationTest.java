@@ -0,0 +1,163 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.response.TelemetryIngestResponse;
+import com.delivery.box.exception.BoxNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BatteryTelemetryServiceIntegrationTest {
+
+    @Autowired
+    private BatteryTelemetryService batteryTelemetryService;
+
+    @Autowired
+    private BoxService boxService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Runs inside the test transaction, so flushed rows are rolled back with it
+    @AfterEach
+    void drainBuffer() {
+        batteryTelemetryService.flush();
+    }
+
+    @Test
+    void ingest_CoalescesReadingsPerBox() throws IOException {
+        TelemetryIngestResponse response = batteryTelemetryService.ingest(lines(
+                "{\"txref\":\"BOX001\",\"batteryCapacity\":90,\"recordedAt\":1000}",
+                "{\"txref\":\"BOX001\",\"batteryCapacity\":80,\"recordedAt\":2000}",
+                "{\"txref\":\"BOX002\",\"batteryCapacity\":70,\"recordedAt\":1000}"
+        ));
+
+        assertEquals(3, response.getAccepted());
+        assertEquals(Optional.of(80), batteryTelemetryService.getBufferedLevel("BOX001"));
+        assertEquals(2, batteryTelemetryService.flush());
+    }
+
+    @Test
+    void ingest_OutOfOrderReading_KeepsNewest() throws IOException {
+        batteryTelemetryService.ingest(lines(
+                "{\"txref\":\"BOX001\",\"batteryCapacity\":60,\"recordedAt\":2000}",
+                "{\"txref\":\"BOX001\",\"batteryCapacity\":95,\"recordedAt\":1000}"
+        ));
+
+        assertEquals(Optional.of(60), batteryTelemetryService.getBufferedLevel("BOX001"));
+    }
+
+    @Test
+    void ingest_InvalidLines_AreCountedAndSkipped() throws IOException {
+        TelemetryIngestResponse response = batteryTelemetryService.ingest(lines(
+                "{\"txref\":\"BOX001\",\"batteryCapacity\":150}",
+                "not json",
+                "{\"batteryCapacity\":50}",
+                "",
+                "{\"txref\":\"BOX002\",\"batteryCapacity\":50}"
+        ));
+
+        assertEquals(1, response.getAccepted());
+        assertEquals(3, response.getInvalid());
+        assertTrue(batteryTelemetryService.getBufferedLevel("BOX001").isEmpty());
+    }
+
+    @Test
+    void ingest_UnknownBox_IsCountedInvalidAndNotBuffered() throws IOException {
+        TelemetryIngestResponse response = batteryTelemetryService.ingest(lines(
+                "{\"txref\":\"BOXNOTEXIST\",\"batteryCapacity\":10}",
+                "{\"txref\":\"BOX001\",\"batteryCapacity\":42}"
+        ));
+
+        assertEquals(1, response.getAccepted());
+        assertEquals(1, response.getInvalid());
+        assertTrue(batteryTelemetryService.getBufferedLevel("BOXNOTEXIST").isEmpty());
+        assertThrows(BoxNotFoundException.class, () -> boxService.getBatteryLevel("BOXNOTEXIST"));
+    }
+
+    @Test
+    void ingest_ResolvesUnbufferedBoxesWithOneQuery() throws IOException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TelemetryIngestResponse response = batteryTelemetryService.ingest(lines(
+                "{\"txref\":\"BOX001\",\"batteryCapacity\":90}",
+                "{\"txref\":\"BOX002\",\"batteryCapacity\":80}",
+                "{\"txref\":\"BOX003\",\"batteryCapacity\":70}",
+                "{\"txref\":\"BOXNOTEXIST\",\"batteryCapacity\":60}"
+        ));
+
+        assertEquals(3, response.getAccepted());
+        assertEquals(1, response.getInvalid());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getBatteryLevel_ServesBufferedReadingBeforeFlush() throws IOException {
+        batteryTelemetryService.ingest(lines("{\"txref\":\"BOX001\",\"batteryCapacity\":42}"));
+
+        assertEquals(42, boxService.getBatteryLevel("BOX001").getBatteryCapacity());
+        assertEquals(100, storedLevel("BOX001"));
+    }
+
+    @Test
+    void flush_WritesReadingsToBoxesTable() throws IOException {
+        batteryTelemetryService.ingest(lines(
+                "{\"txref\":\"BOX001\",\"batteryCapacity\":42}",
+                "{\"txref\":\"BOXNOTEXIST\",\"batteryCapacity\":10}"
+        ));
+
+        batteryTelemetryService.flush();
+
+        assertEquals(42, storedLevel("BOX001"));
+        assertTrue(batteryTelemetryService.getBufferedLevel("BOX001").isEmpty());
+        assertEquals(42, boxService.getBatteryLevel("BOX001").getBatteryCapacity());
+    }
+
+    @Test
+    void ingest_BufferFull_DropsNewBoxesButUpdatesBufferedOnes() throws IOException {
+        ReflectionTestUtils.setField(batteryTelemetryService, "bufferCapacity", 1);
+        try {
+            TelemetryIngestResponse response = batteryTelemetryService.ingest(lines(
+                    "{\"txref\":\"BOX001\",\"batteryCapacity\":90}",
+                    "{\"txref\":\"BOX002\",\"batteryCapacity\":80}",
+                    "{\"txref\":\"BOX001\",\"batteryCapacity\":70}"
+            ));
+
+            assertEquals(2, response.getAccepted());
+            assertEquals(1, response.getDropped());
+            assertEquals(Optional.of(70), batteryTelemetryService.getBufferedLevel("BOX001"));
+            assertTrue(batteryTelemetryService.getBufferedLevel("BOX002").isEmpty());
+        } finally {
+            ReflectionTestUtils.setField(batteryTelemetryService, "bufferCapacity", 100000);
+        }
+    }
+
+    private int storedLevel(String txref) {
+        return jdbcTemplate.queryForObject("SELECT battery_capacity FROM boxes WHERE txref = ?", Integer.class, txref);
+    }
+
+    private static BufferedReader lines(String... lines) {
+        return new BufferedReader(new StringReader(String.join("\n", lines)));
+    }
+}
\ No newline at end of file
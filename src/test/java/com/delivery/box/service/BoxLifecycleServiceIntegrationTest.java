@@ -0,0 +1,133 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.request.BoxView;
+import com.delivery.box.dto.request.BulkTransitionRequest;
+import com.delivery.box.dto.request.LoadItemsRequest;
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.dto.response.BoxTransitionResult;
+import com.delivery.box.dto.response.BulkTransitionResponse;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.exception.BoxNotFoundException;
+import com.delivery.box.exception.InvalidOperationException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BoxLifecycleServiceIntegrationTest {
+
+    @Autowired
+    private BoxLifecycleService boxLifecycleService;
+
+    @Autowired
+    private BoxService boxService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void transition_FullDeliveryCycle_EndsIdleAndEmpty() {
+        assertEquals(BoxState.DELIVERING, boxLifecycleService.transition("BOX006", BoxTransition.DISPATCH).getState());
+        assertEquals(BoxState.DELIVERED, boxLifecycleService.transition("BOX006", BoxTransition.DELIVER).getState());
+        assertEquals(BoxState.RETURNING, boxLifecycleService.transition("BOX006", BoxTransition.RETURN).getState());
+
+        BoxResponse unloaded = boxLifecycleService.transition("BOX006", BoxTransition.UNLOAD);
+
+        assertEquals(BoxState.IDLE, unloaded.getState());
+        assertEquals(0.0, unloaded.getCurrentWeight());
+        assertTrue(unloaded.getItems().isEmpty());
+    }
+
+    @Test
+    void transition_UnloadedBox_CanBeLoadedAgain() {
+        boxLifecycleService.transition("BOX006", BoxTransition.UNLOAD);
+
+        BoxResponse reloaded = boxService.loadBox("BOX006", new LoadItemsRequest(List.of("MED_004")));
+
+        assertEquals(BoxState.LOADED, reloaded.getState());
+        assertEquals(100.0, reloaded.getCurrentWeight());
+        assertEquals(1, reloaded.getItems().size());
+    }
+
+    @Test
+    void transition_WrongSourceState_ThrowsException() {
+        InvalidOperationException exception = assertThrows(InvalidOperationException.class,
+                () -> boxLifecycleService.transition("BOX001", BoxTransition.DISPATCH));
+
+        assertTrue(exception.getMessage().contains("IDLE"));
+        assertEquals(BoxState.IDLE, boxService.getBox("BOX001").getState());
+    }
+
+    @Test
+    void transition_NonExistentBox_ThrowsException() {
+        assertThrows(BoxNotFoundException.class,
+                () -> boxLifecycleService.transition("BOXNOTEXIST", BoxTransition.DISPATCH));
+    }
+
+    @Test
+    void transition_Load_IsRejected() {
+        assertThrows(InvalidOperationException.class,
+                () -> boxLifecycleService.transition("BOX001", BoxTransition.LOAD));
+    }
+
+    @Test
+    void transition_EvictsCachedSnapshot() {
+        boxService.getBox("BOX006");
+
+        boxLifecycleService.transition("BOX006", BoxTransition.DISPATCH);
+
+        assertEquals(BoxState.DELIVERING, boxService.getBox("BOX006").getState());
+    }
+
+    @Test
+    void transition_SummaryView_NeverLoadsLines() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BoxResponse response = boxLifecycleService.transition("BOX006", BoxTransition.DISPATCH, BoxView.SUMMARY);
+
+        assertEquals(BoxState.DELIVERING, response.getState());
+        assertEquals(3, response.getUsedSlots());
+        assertNull(response.getItems());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void transitionAll_MixedStates_MovesOnlyEligibleBoxes() {
+        boxService.loadBox("BOX001", new LoadItemsRequest(List.of("MED_001")));
+
+        BulkTransitionResponse response = boxLifecycleService.transitionAll(new BulkTransitionRequest(
+                BoxTransition.DISPATCH, List.of("BOX006", "BOX001", "BOX002", "BOX007", "BOXNOTEXIST")));
+
+        assertEquals(BoxState.DELIVERING, response.getTargetState());
+        assertEquals(2, response.getTransitioned());
+        assertEquals(3, response.getRejected());
+
+        Map<String, BoxTransitionResult> results = response.getResults().stream()
+                .collect(Collectors.toMap(BoxTransitionResult::getTxref, result -> result));
+        assertTrue(results.get("BOX001").isTransitioned());
+        assertTrue(results.get("BOX006").isTransitioned());
+        assertFalse(results.get("BOX002").isTransitioned());
+        assertEquals(BoxState.IDLE, results.get("BOX002").getState());
+        // Already DELIVERING before the call, so it was not moved by it
+        assertFalse(results.get("BOX007").isTransitioned());
+        assertNull(results.get("BOXNOTEXIST").getState());
+
+        assertEquals(BoxState.DELIVERING, boxService.getBox("BOX001").getState());
+        assertEquals(BoxState.IDLE, boxService.getBox("BOX002").getState());
+    }
+}
\ No newline at end of file
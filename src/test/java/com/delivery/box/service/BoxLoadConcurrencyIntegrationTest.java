@@ -0,0 +1,127 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.request.BoxRequest;
+import com.delivery.box.dto.request.LoadItemsRequest;
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.exception.InvalidOperationException;
+import com.delivery.box.repository.BoxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: every load must commit on its own so the lock modes are actually exercised
+@SpringBootTest
+@ActiveProfiles("test")
+class BoxLoadConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int MAX_ATTEMPTS = 500;
+
+    @Nested
+    @TestPropertySource(properties = "box.loading.lock-mode=OPTIMISTIC")
+    class Optimistic extends ConcurrentLoadScenario {
+    }
+
+    @Nested
+    @TestPropertySource(properties = "box.loading.lock-mode=PESSIMISTIC")
+    class Pessimistic extends ConcurrentLoadScenario {
+    }
+
+    abstract static class ConcurrentLoadScenario {
+
+        @Autowired
+        private BoxService boxService;
+
+        @Autowired
+        private BoxRepository boxRepository;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        private String txref;
+
+        @AfterEach
+        void cleanUp() {
+            boxRepository.findByTxref(txref).ifPresent(boxRepository::delete);
+        }
+
+        @Test
+        void loadBox_ConcurrentLoads_NeverExceedWeightLimit() throws Exception {
+            txref = "RACE_" + getClass().getSimpleName().toUpperCase();
+            boxService.createBox(new BoxRequest(txref, 500.0, 100));
+
+            // Each load fits on its own (100gr), only five of them fit together
+            LoadItemsRequest request = new LoadItemsRequest(List.of("MED_004"));
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            List<Future<Boolean>> results = new ArrayList<>();
+            try {
+                for (int i = 0; i < THREADS; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return loadUntilSettled(request);
+                    }));
+                }
+                start.countDown();
+
+                int successes = 0;
+                for (Future<Boolean> result : results) {
+                    if (result.get(60, TimeUnit.SECONDS)) {
+                        successes++;
+                    }
+                }
+
+                BoxResponse box = boxService.getBox(txref);
+                assertTrue(box.getCurrentWeight() <= box.getWeightLimit());
+                assertEquals(successes * 100.0, box.getCurrentWeight());
+                assertEquals(5, successes);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        // A successful load leaves the box LOADED; it is reopened straight away so the next load is
+        // decided by the weight check rather than the state check. Returns false once the weight limit
+        // rejects this worker.
+        private boolean loadUntilSettled(LoadItemsRequest request) {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                try {
+                    boxService.loadBox(txref, request);
+                    reopen();
+                    return true;
+                } catch (InvalidOperationException e) {
+                    if (e.getMessage().contains("Weight limit exceeded")) {
+                        return false;
+                    }
+                } catch (OptimisticLockingFailureException ignored) {
+                    // Out of optimistic retries; try again like a client would
+                }
+                Thread.yield();
+            }
+            throw new IllegalStateException("Load on " + txref + " never settled");
+        }
+
+        private void reopen() {
+            transactionTemplate.executeWithoutResult(status ->
+                    boxRepository.transitionState(List.of(txref), Set.of(BoxState.LOADED), BoxState.LOADING));
+        }
+    }
+}
\ No newline at end of file
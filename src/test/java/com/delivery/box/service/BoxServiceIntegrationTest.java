@@ -1,13 +1,27 @@
 package com.delivery.box.service;
 
+import com.delivery.box.cache.BatterySnapshot;
+import com.delivery.box.cache.BoxSnapshot;
+import com.delivery.box.cache.BoxSnapshotCache;
+import com.delivery.box.cache.ItemCatalogCache;
+import com.delivery.box.dto.request.BoxLoadRequest;
 import com.delivery.box.dto.request.BoxRequest;
+import com.delivery.box.dto.request.BoxView;
+import com.delivery.box.dto.request.BulkLoadRequest;
+import com.delivery.box.dto.request.ItemQuantityRequest;
+import com.delivery.box.dto.response.BulkLoadResponse;
 import com.delivery.box.dto.response.BoxResponse;
 import com.delivery.box.dto.response.ItemResponse;
 import com.delivery.box.dto.request.LoadItemsRequest;
 import com.delivery.box.entity.BoxState;
+import com.delivery.box.entity.Item;
 import com.delivery.box.exception.BoxNotFoundException;
 import com.delivery.box.exception.InvalidOperationException;
 import com.delivery.box.exception.ItemNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -26,6 +40,18 @@ class BoxServiceIntegrationTest {
     @Autowired
     private BoxService boxService;
 
+    @Autowired
+    private ItemCatalogCache itemCatalogCache;
+
+    @Autowired
+    private BoxSnapshotCache boxSnapshotCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void createBox_Success() {
         BoxRequest request = new BoxRequest("BOX999", 500.0, 100);
@@ -41,6 +67,18 @@ class BoxServiceIntegrationTest {
         assertEquals(500.0, response.getRemainingCapacity());
     }
 
+    @Test
+    void createBox_DefaultsVolumeAndSlotLimits() {
+        BoxResponse defaults = boxService.createBox(new BoxRequest("BOX998", 500.0, 100));
+        BoxResponse explicit = boxService.createBox(new BoxRequest("BOX997", 500.0, 100, 2000.0, 5));
+
+        assertEquals(8000.0, defaults.getVolumeLimit());
+        assertEquals(50, defaults.getRemainingSlots());
+        assertEquals(2000.0, explicit.getRemainingVolume());
+        assertEquals(5, explicit.getSlotLimit());
+        assertEquals(0, explicit.getUsedSlots());
+    }
+
     @Test
     void createBox_DuplicateTxref_ThrowsException() {
         BoxRequest request = new BoxRequest("BOX001", 500.0, 100);
@@ -61,6 +99,15 @@ class BoxServiceIntegrationTest {
         assertEquals(375.0, response.getRemainingCapacity()); // 500 - 125
     }
 
+    @Test
+    void loadBox_SummaryView_OmitsItems() {
+        BoxResponse response = boxService.loadBox("BOX001", new LoadItemsRequest(List.of("MED_001", "MED_002")), BoxView.SUMMARY);
+
+        assertNull(response.getItems());
+        assertEquals(125.0, response.getCurrentWeight());
+        assertEquals(2, response.getUsedSlots());
+    }
+
     @Test
     void loadBox_MultipleItems_Success() {
         LoadItemsRequest request = new LoadItemsRequest(
@@ -75,6 +122,45 @@ class BoxServiceIntegrationTest {
         assertEquals(245.0, response.getRemainingCapacity());
     }
 
+    @Test
+    void loadBox_Quantity_StoredAsSingleLine() {
+        LoadItemsRequest request = new LoadItemsRequest(List.of("MED_001"), List.of(new ItemQuantityRequest("MED_006", 12)));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BoxResponse response = boxService.loadBox("BOX001", request);
+        entityManager.flush();
+
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertEquals(350.0, response.getCurrentWeight()); // 50 + 12 * 25
+        ItemResponse faceMasks = response.getItems().stream()
+                .filter(item -> item.getCode().equals("MED_006"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(12, faceMasks.getQuantity());
+        assertEquals(25.0, faceMasks.getWeight());
+    }
+
+    @Test
+    void loadBox_RepeatedCode_AddsToSameLine() {
+        BoxResponse response = boxService.loadBox("BOX001", new LoadItemsRequest(
+                List.of("MED_003", "MED_003"), List.of(new ItemQuantityRequest("MED_003", 3))));
+
+        assertEquals(1, response.getItems().size());
+        assertEquals(5, response.getItems().get(0).getQuantity());
+        assertEquals(150.0, response.getCurrentWeight());
+    }
+
+    @Test
+    void loadBox_QuantityExceedsWeightLimit_ThrowsException() {
+        LoadItemsRequest request = new LoadItemsRequest(null, List.of(new ItemQuantityRequest("MED_004", 4)));
+
+        InvalidOperationException exception = assertThrows(InvalidOperationException.class,
+                () -> boxService.loadBox("BOX003", request));
+
+        assertTrue(exception.getMessage().contains("Weight limit exceeded"));
+    }
+
     @Test
     void loadBox_LowBattery_ThrowsException() {
         LoadItemsRequest request = new LoadItemsRequest(List.of("MED_001"));
@@ -100,6 +186,46 @@ class BoxServiceIntegrationTest {
         assertTrue(exception.getMessage().contains("Weight limit exceeded"));
     }
 
+    @Test
+    void loadBox_TracksVolumeAndSlots() {
+        persistItem("BULKY_001", 10.0, 1500.0);
+
+        BoxResponse response = boxService.loadBox("BOX001", new LoadItemsRequest(
+                List.of("MED_001"), List.of(new ItemQuantityRequest("BULKY_001", 3))));
+
+        assertEquals(4500.0, response.getCurrentVolume());
+        assertEquals(3500.0, response.getRemainingVolume());
+        assertEquals(4, response.getUsedSlots());
+        ItemResponse bulky = response.getItems().stream()
+                .filter(item -> item.getCode().equals("BULKY_001"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1500.0, bulky.getVolume());
+    }
+
+    @Test
+    void loadBox_ExceedsVolumeLimit_ThrowsException() {
+        persistItem("BULKY_002", 10.0, 1500.0);
+        LoadItemsRequest request = new LoadItemsRequest(null, List.of(new ItemQuantityRequest("BULKY_002", 6))); // 9000cm3
+
+        InvalidOperationException exception = assertThrows(InvalidOperationException.class,
+                () -> boxService.loadBox("BOX001", request));
+
+        assertTrue(exception.getMessage().contains("Volume limit exceeded"));
+        assertEquals(0.0, boxService.getBox("BOX001").getCurrentVolume());
+    }
+
+    @Test
+    void loadBox_ExceedsSlotLimit_ThrowsException() {
+        boxService.createBox(new BoxRequest("BOX996", 500.0, 100, null, 2));
+        LoadItemsRequest request = new LoadItemsRequest(List.of("MED_006"), List.of(new ItemQuantityRequest("MED_003", 2)));
+
+        InvalidOperationException exception = assertThrows(InvalidOperationException.class,
+                () -> boxService.loadBox("BOX996", request));
+
+        assertTrue(exception.getMessage().contains("Slot limit exceeded"));
+    }
+
     @Test
     void loadBox_InvalidState_ThrowsException() {
         LoadItemsRequest request = new LoadItemsRequest(List.of("MED_001"));
@@ -127,6 +253,77 @@ class BoxServiceIntegrationTest {
         assertThrows(ItemNotFoundException.class, () -> boxService.loadBox("BOX001", request));
     }
 
+    @Test
+    void loadBox_MultipleNonExistentItems_ReportsAllMissingCodes() {
+        LoadItemsRequest request = new LoadItemsRequest(List.of("MED_001", "MED_998", "MED_999"));
+
+        ItemNotFoundException exception = assertThrows(
+                ItemNotFoundException.class,
+                () -> boxService.loadBox("BOX001", request)
+        );
+
+        assertTrue(exception.getMessage().contains("MED_998"));
+        assertTrue(exception.getMessage().contains("MED_999"));
+        assertFalse(exception.getMessage().contains("MED_001"));
+    }
+
+    @Test
+    void loadBox_QueryCountIndependentOfItemCount() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        itemCatalogCache.evictAll();
+        statistics.clear();
+        boxService.loadBox("BOX001", new LoadItemsRequest(List.of("MED_001")));
+        long singleItemStatements = statistics.getPrepareStatementCount();
+        entityManager.flush();
+
+        itemCatalogCache.evictAll();
+        statistics.clear();
+        boxService.loadBox("BOX002", new LoadItemsRequest(
+                List.of("MED_001", "MED_002", "MED_003", "MED_004", "MED_006", "MED_008")));
+        long manyItemStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(singleItemStatements, manyItemStatements);
+    }
+
+    @Test
+    void loadBoxes_BestEffort_AppliesValidLoadsOnly() {
+        BulkLoadRequest request = new BulkLoadRequest(List.of(
+                new BoxLoadRequest("BOX001", List.of("MED_001", "MED_002")),
+                new BoxLoadRequest("BOX003", List.of("MED_009")),        // exceeds 300gr limit
+                new BoxLoadRequest("BOXNOTEXIST", List.of("MED_001")),
+                new BoxLoadRequest("BOX002", List.of("MED_003", "MED_999"))
+        ), false);
+
+        BulkLoadResponse response = boxService.loadBoxes(request);
+
+        assertEquals(1, response.getApplied());
+        assertEquals(3, response.getFailed());
+        assertTrue(response.getResults().get(0).isLoaded());
+        assertEquals(125.0, response.getResults().get(0).getCurrentWeight());
+        assertTrue(response.getResults().get(1).getMessage().contains("Weight limit exceeded"));
+        assertTrue(response.getResults().get(2).getMessage().contains("not found"));
+        assertTrue(response.getResults().get(3).getMessage().contains("MED_999"));
+
+        assertEquals(BoxState.LOADED, boxService.getBox("BOX001").getState());
+        assertEquals(BoxState.IDLE, boxService.getBox("BOX003").getState());
+    }
+
+    @Test
+    void loadBoxes_Atomic_AppliesNothingWhenAnyLoadFails() {
+        BulkLoadRequest request = new BulkLoadRequest(List.of(
+                new BoxLoadRequest("BOX001", List.of("MED_001")),
+                new BoxLoadRequest("BOX004", List.of("MED_001"))         // low battery
+        ), true);
+
+        BulkLoadResponse response = boxService.loadBoxes(request);
+
+        assertEquals(0, response.getApplied());
+        assertEquals(2, response.getFailed());
+        assertFalse(response.getResults().get(0).isLoaded());
+        assertTrue(response.getResults().get(1).getMessage().contains("battery level below 25%"));
+    }
+
     @Test
     void getLoadedItems_Success() {
         List<ItemResponse> items = boxService.getLoadedItems("BOX006");
@@ -190,6 +387,58 @@ class BoxServiceIntegrationTest {
         assertFalse(availableTxrefs.contains("BOX007")); // DELIVERING state
     }
 
+    @Test
+    void getAvailableBoxes_FilteredByFreeSlotsAndVolume() {
+        boxService.createBox(new BoxRequest("BOX996", 500.0, 100, 1000.0, 60));
+
+        List<String> roomy = boxService.getAvailableBoxes(null, null, null, null, 51, 100).stream()
+                .map(BoxResponse::getTxref)
+                .toList();
+        List<String> large = boxService.getAvailableBoxes(null, null, null, 2000.0, null, 100).stream()
+                .map(BoxResponse::getTxref)
+                .toList();
+
+        assertEquals(List.of("BOX996"), roomy);
+        assertFalse(large.contains("BOX996"));
+        assertTrue(large.contains("BOX001"));
+    }
+
+    @Test
+    void getAvailableBoxes_Page_ReadsColumnsWithoutEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BoxResponse> availableBoxes = boxService.getAvailableBoxes(null, null, null, 100);
+
+        assertEquals(List.of("BOX001", "BOX002", "BOX003"), availableBoxes.stream().map(BoxResponse::getTxref).limit(3).toList());
+        assertEquals(500.0, availableBoxes.get(0).getRemainingCapacity());
+        assertTrue(availableBoxes.get(0).getItems().isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getAvailableBoxes_OrderedByRemainingCapacity() {
+        boxService.loadBox("BOX001", new LoadItemsRequest(List.of("MED_009"))); // leaves 50gr, but LOADED
+
+        List<BoxResponse> availableBoxes = boxService.getAvailableBoxes();
+
+        for (int i = 1; i < availableBoxes.size(); i++) {
+            assertTrue(availableBoxes.get(i - 1).getRemainingCapacity() >= availableBoxes.get(i).getRemainingCapacity());
+        }
+        assertFalse(availableBoxes.stream().anyMatch(box -> box.getTxref().equals("BOX001")));
+    }
+
+    @Test
+    void getAvailableBoxes_FetchesItemsInSingleQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        boxService.getAvailableBoxes();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
     @Test
     void getBatteryLevel_Success() {
         var response = boxService.getBatteryLevel("BOX001");
@@ -199,6 +448,21 @@ class BoxServiceIntegrationTest {
         assertEquals(100, response.getBatteryCapacity());
     }
 
+    @Test
+    void getBatteryLevel_SnapshotMiss_ReadsColumnsWithoutEntities() {
+        boxSnapshotCache.evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BatterySnapshot battery = boxService.getBatterySnapshot("BOX006");
+
+        assertEquals(100, battery.getResponse().getBatteryCapacity());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(boxSnapshotCache.getIfPresent("BOX006").isEmpty());
+        assertEquals(boxService.getBoxSnapshot("BOX006").getEtag(), battery.getEtag());
+    }
+
     @Test
     void getBatteryLevel_LowBattery_Success() {
         var response = boxService.getBatteryLevel("BOX004");
@@ -236,6 +500,70 @@ class BoxServiceIntegrationTest {
         assertEquals(45.0, response.getRemainingCapacity()); // 200 - 155
     }
 
+    @Test
+    void getBox_WithLoadedItems_FetchesItemsInSingleQuery() {
+        boxSnapshotCache.evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        boxService.getBox("BOX006");
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getBox_RepeatedReads_ServedFromSnapshot() {
+        boxSnapshotCache.evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        boxService.getBox("BOX006");
+        statistics.clear();
+        BoxResponse response = boxService.getBox("BOX006");
+        boxService.getBatteryLevel("BOX006");
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(3, response.getItems().size());
+    }
+
+    @Test
+    void getBoxSummarySnapshot_Miss_ReadsColumnsWithoutItems() {
+        boxSnapshotCache.evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BoxSnapshot summary = boxService.getBoxSummarySnapshot("BOX006");
+
+        assertNull(summary.getResponse().getItems());
+        assertEquals(3, summary.getResponse().getUsedSlots());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(boxService.getBoxSnapshot("BOX006").getEtag() + BoxService.SUMMARY_ETAG_SUFFIX, summary.getEtag());
+    }
+
+    @Test
+    void getBoxSummarySnapshot_Hit_LeavesCachedItemsIntact() {
+        BoxSnapshot full = boxService.getBoxSnapshot("BOX006");
+
+        BoxSnapshot summary = boxService.getBoxSummarySnapshot("BOX006");
+
+        assertNull(summary.getResponse().getItems());
+        assertEquals(3, full.getResponse().getItems().size());
+        assertEquals(full.getEtag() + BoxService.SUMMARY_ETAG_SUFFIX, summary.getEtag());
+    }
+
+    @Test
+    void getBox_AfterLoad_ReturnsFreshSnapshot() {
+        BoxSnapshot before = boxService.getBoxSnapshot("BOX001");
+
+        boxService.loadBox("BOX001", new LoadItemsRequest(List.of("MED_003")));
+        BoxSnapshot after = boxService.getBoxSnapshot("BOX001");
+
+        assertEquals(BoxState.IDLE, before.getResponse().getState());
+        assertEquals(BoxState.LOADED, after.getResponse().getState());
+        assertEquals(1, after.getResponse().getItems().size());
+        assertNotEquals(before.getEtag(), after.getEtag());
+    }
+
     @Test
     void getBox_NonExistentBox_ThrowsException() {
         assertThrows(BoxNotFoundException.class, () -> boxService.getBox("BOXNOTEXIST"));
@@ -268,4 +596,11 @@ class BoxServiceIntegrationTest {
         assertEquals(280.0, response.getCurrentWeight());
         assertEquals(20.0, response.getRemainingCapacity());
     }
+
+    private void persistItem(String code, double weight, double volume) {
+        entityManager.persist(new Item(null, code, weight, code, volume));
+        entityManager.flush();
+        // Drops the entry again when the test rolls back
+        itemCatalogCache.evict(code);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.response.ItemImportError;
+import com.delivery.box.dto.response.ItemImportResponse;
+import com.delivery.box.entity.Item;
+import com.delivery.box.exception.InvalidOperationException;
+import com.delivery.box.repository.ItemRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ItemImportServiceIntegrationTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importItems_Csv_ValidRowsInsertedAndRejectionsReported() throws IOException {
+        String csv = """
+                code,name,weight
+                MED_200,Gauze,12.5
+                MED_201,Bad Name,10
+                MED_202,Splint,-1
+                MED_200,Gauze-Copy,5
+                MED_001,Paracetamol,50
+                MED_203,Syringe,heavy
+
+                "MED_204","Plaster","3"
+                """;
+
+        ItemImportResponse response = itemImportService.importItems(reader(csv), ItemImportFormat.CSV);
+
+        assertEquals(7, response.getRows());
+        assertEquals(2, response.getImported());
+        assertEquals(5, response.getRejected());
+        assertFalse(response.isErrorsTruncated());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), response.getErrors().stream().map(ItemImportError::getLine).sorted().toList());
+        assertTrue(response.getErrors().stream()
+                .anyMatch(error -> error.getLine() == 5 && error.getMessage().contains("first seen on line 2")));
+        assertTrue(response.getErrors().stream()
+                .anyMatch(error -> error.getLine() == 6 && error.getMessage().contains("already exists")));
+
+        Item gauze = itemRepository.findByCode("MED_200").orElseThrow();
+        assertEquals("Gauze", gauze.getName());
+        assertEquals(12.5, gauze.getWeight());
+        assertTrue(itemRepository.findByCode("MED_204").isPresent());
+    }
+
+    @Test
+    void importItems_Ndjson_MalformedLinesRejected() throws IOException {
+        String ndjson = """
+                {"name":"Gauze","weight":12.5,"code":"MED_300"}
+                {"name":"Splint","weight":
+                {"name":"Syringe","weight":4.0,"code":"med_302"}
+                """;
+
+        ItemImportResponse response = itemImportService.importItems(reader(ndjson), ItemImportFormat.NDJSON);
+
+        assertEquals(3, response.getRows());
+        assertEquals(1, response.getImported());
+        assertEquals("Malformed JSON", response.getErrors().get(0).getMessage());
+        assertEquals("med_302", response.getErrors().get(1).getCode());
+        assertTrue(itemRepository.findByCode("MED_300").isPresent());
+    }
+
+    @Test
+    void importItems_SpansSeveralChunks() throws IOException {
+        long before = itemRepository.count();
+        StringBuilder csv = new StringBuilder("name,weight,code\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("Item-").append(i).append(',').append(i % 400).append(",BULK_").append(i).append('\n');
+        }
+
+        ItemImportResponse response = itemImportService.importItems(reader(csv.toString()), ItemImportFormat.CSV);
+
+        assertEquals(2500, response.getImported());
+        assertEquals(0, response.getRejected());
+        assertEquals(before + 2500, itemRepository.count());
+    }
+
+    @Test
+    void importItems_InsertsAreJdbcBatched() throws IOException {
+        StringBuilder csv = new StringBuilder("name,weight,code\n");
+        for (int i = 0; i < 120; i++) {
+            csv.append("Item-").append(i).append(",10,BATCH_").append(i).append('\n');
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        itemImportService.importItems(reader(csv.toString()), ItemImportFormat.CSV);
+
+        // One existing-code lookup, three sequence calls for 150 pooled ids and three insert batches,
+        // instead of one statement per row
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+        assertTrue(itemRepository.findByCode("BATCH_0").orElseThrow().getId() > 100);
+    }
+
+    @Test
+    void importItems_CsvHeaderMissingColumn_ThrowsException() {
+        assertThrows(InvalidOperationException.class,
+                () -> itemImportService.importItems(reader("name,code\nGauze,MED_400\n"), ItemImportFormat.CSV));
+    }
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+}
\ No newline at end of file
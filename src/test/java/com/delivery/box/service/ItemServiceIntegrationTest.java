@@ -1,8 +1,13 @@
 package com.delivery.box.service;
 
+import com.delivery.box.cache.ItemCatalogCache;
 import com.delivery.box.dto.request.ItemRequest;
 import com.delivery.box.dto.response.ItemResponse;
+import com.delivery.box.entity.Item;
 import com.delivery.box.exception.InvalidOperationException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,6 +15,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +27,12 @@ class ItemServiceIntegrationTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ItemCatalogCache itemCatalogCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void createItem_Success() {
         ItemRequest request = new ItemRequest("Aspirin", 60.0, "MED_100");
@@ -40,6 +52,27 @@ class ItemServiceIntegrationTest {
         assertThrows(InvalidOperationException.class, () -> itemService.createItem(request));
     }
 
+    @Test
+    void itemCatalogCache_RepeatedLookupServedFromMemory() {
+        itemCatalogCache.findAllByCodes(List.of("MED_001", "MED_002"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Map<String, Item> items = itemCatalogCache.findAllByCodes(List.of("MED_001", "MED_002"));
+
+        assertEquals(2, items.size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void itemCatalogCache_FindsItemCreatedAfterMiss() {
+        assertTrue(itemCatalogCache.findByCode("MED_101").isEmpty());
+
+        itemService.createItem(new ItemRequest("Gauze", 20.0, "MED_101"));
+
+        assertEquals("Gauze", itemCatalogCache.findByCode("MED_101").orElseThrow().getName());
+    }
+
     @Test
     void getAllItems_ReturnsPreloadedData() {
         List<ItemResponse> items = itemService.getAllItems();
@@ -57,6 +90,29 @@ class ItemServiceIntegrationTest {
         assertTrue(itemCodes.contains("MED_003"));
     }
 
+    @Test
+    void getItems_KeysetPagination_ContinuesAfterCursor() {
+        List<ItemResponse> firstPage = itemService.getItems(null, null, null, 3);
+        assertEquals(3, firstPage.size());
+
+        Long cursor = firstPage.get(firstPage.size() - 1).getId();
+        List<ItemResponse> secondPage = itemService.getItems(cursor, null, null, 3);
+
+        assertEquals(3, secondPage.size());
+        assertTrue(secondPage.stream().allMatch(item -> item.getId() > cursor));
+    }
+
+    @Test
+    void getItems_FilteredByWeightRange() {
+        List<ItemResponse> items = itemService.getItems(null, 70.0, 100.0, 100);
+
+        List<String> itemCodes = items.stream()
+                .map(ItemResponse::getCode)
+                .toList();
+
+        assertEquals(List.of("MED_002", "MED_004", "MED_008"), itemCodes);
+    }
+
     @Test
     void createItem_WithSpecialCharacters_Success() {
         ItemRequest request = new ItemRequest("Test-Item_123", 45.0, "TEST_ITEM_001");
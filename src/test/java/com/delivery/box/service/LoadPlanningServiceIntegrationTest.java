@@ -0,0 +1,164 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.request.LoadPlanRequest;
+import com.delivery.box.dto.response.LoadPlanResponse;
+import com.delivery.box.dto.response.PlannedBoxLoad;
+import com.delivery.box.entity.Box;
+import com.delivery.box.entity.BoxState;
+import com.delivery.box.exception.ItemNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class LoadPlanningServiceIntegrationTest {
+
+    @Autowired
+    private LoadPlanningService loadPlanningService;
+
+    @Autowired
+    private BoxService boxService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void planLoad_FirstFitDecreasing_UsesLargestBoxesFirst() {
+        LoadPlanRequest request = new LoadPlanRequest(
+                List.of("MED_004", "MED_009", "MED_005", "MED_007"), // 100, 450, 120, 150
+                PackingStrategy.FIRST_FIT_DECREASING,
+                false
+        );
+
+        LoadPlanResponse response = loadPlanningService.planLoad(request);
+
+        assertEquals(2, response.getBoxesUsed());
+        assertTrue(response.getUnassignedItemCodes().isEmpty());
+        assertNull(response.getExecution());
+
+        PlannedBoxLoad first = response.getAssignments().get(0);
+        assertEquals("BOX001", first.getTxref());
+        assertEquals(List.of("MED_009"), first.getItemCodes());
+
+        PlannedBoxLoad second = response.getAssignments().get(1);
+        assertEquals("BOX002", second.getTxref());
+        assertEquals(370.0, second.getPlannedWeight()); // 150 + 120 + 100
+        assertEquals(30.0, second.getRemainingCapacity());
+    }
+
+    @Test
+    void planLoad_DryRun_ReadsCapacitiesWithoutBoxEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LoadPlanResponse response = loadPlanningService.planLoad(
+                new LoadPlanRequest(List.of("MED_004", "MED_009"), PackingStrategy.FIRST_FIT_DECREASING, false));
+
+        assertEquals(2, response.getAssignments().stream().mapToInt(load -> load.getItemCodes().size()).sum());
+        assertEquals(0, statistics.getEntityStatistics(Box.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void planLoad_Execute_LoadsPlannedBoxes() {
+        LoadPlanRequest request = new LoadPlanRequest(List.of("MED_001", "MED_002"), PackingStrategy.BEST_FIT_DECREASING, true);
+
+        LoadPlanResponse response = loadPlanningService.planLoad(request);
+
+        assertNotNull(response.getExecution());
+        assertEquals(response.getBoxesUsed(), response.getExecution().getApplied());
+        String txref = response.getAssignments().get(0).getTxref();
+        assertEquals(BoxState.LOADED, boxService.getBox(txref).getState());
+    }
+
+    @Test
+    void planLoad_UnknownItem_ThrowsException() {
+        LoadPlanRequest request = new LoadPlanRequest(List.of("MED_001", "MED_999"), PackingStrategy.FIRST_FIT_DECREASING, false);
+
+        assertThrows(ItemNotFoundException.class, () -> loadPlanningService.planLoad(request));
+    }
+
+    @Test
+    void plan_ItemHeavierThanEveryBox_IsUnassigned() {
+        int[] assignment = LoadPlanner.plan(new double[]{600.0, 50.0}, new double[]{500.0}, PackingStrategy.FIRST_FIT_DECREASING);
+
+        assertEquals(LoadPlanner.UNASSIGNED, assignment[0]);
+        assertEquals(0, assignment[1]);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PackingStrategy.class)
+    void plan_RandomFleet_NeverOverfillsABox(PackingStrategy strategy) {
+        Random random = new Random(7);
+        double[] weights = random.doubles(5_000, 1.0, 150.0).toArray();
+        double[] capacities = random.doubles(2_000, 100.0, 500.0).toArray();
+
+        int[] assignment = LoadPlanner.plan(weights, capacities, strategy);
+
+        double[] loaded = new double[capacities.length];
+        for (int item = 0; item < assignment.length; item++) {
+            if (assignment[item] != LoadPlanner.UNASSIGNED) {
+                loaded[assignment[item]] += weights[item];
+            }
+        }
+        for (int box = 0; box < capacities.length; box++) {
+            assertTrue(loaded[box] <= capacities[box] + 1e-9);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PackingStrategy.class)
+    void plan_VolumeAndSlots_RespectedAlongsideWeight(PackingStrategy strategy) {
+        // Box 0 has the most weight capacity but room for one bulky item; box 1 has a single slot
+        double[] weights = {40.0, 30.0, 20.0};
+        double[] volumes = {600.0, 600.0, 10.0};
+
+        int[] assignment = LoadPlanner.plan(weights, volumes,
+                new double[]{500.0, 400.0, 300.0}, new double[]{1000.0, 5000.0, 5000.0}, new int[]{10, 1, 10}, strategy);
+
+        assertArrayEquals(new int[]{0, 1, 0}, assignment);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PackingStrategy.class)
+    void plan_RandomFleetWithVolumeAndSlots_NeverOverfillsABox(PackingStrategy strategy) {
+        Random random = new Random(11);
+        double[] weights = random.doubles(5_000, 1.0, 150.0).toArray();
+        double[] volumes = random.doubles(5_000, 1.0, 1_000.0).toArray();
+        double[] capacities = random.doubles(2_000, 100.0, 500.0).toArray();
+        double[] volumeCapacities = random.doubles(2_000, 500.0, 8_000.0).toArray();
+        int[] slots = random.ints(2_000, 1, 6).toArray();
+
+        int[] assignment = LoadPlanner.plan(weights, volumes, capacities, volumeCapacities, slots, strategy);
+
+        double[] loaded = new double[capacities.length];
+        double[] filled = new double[capacities.length];
+        int[] used = new int[capacities.length];
+        for (int item = 0; item < assignment.length; item++) {
+            int box = assignment[item];
+            if (box != LoadPlanner.UNASSIGNED) {
+                loaded[box] += weights[item];
+                filled[box] += volumes[item];
+                used[box]++;
+            }
+        }
+        for (int box = 0; box < capacities.length; box++) {
+            assertTrue(loaded[box] <= capacities[box] + 1e-9);
+            assertTrue(filled[box] <= volumeCapacities[box] + 1e-9);
+            assertTrue(used[box] <= slots[box]);
+        }
+    }
+}
\ No newline at end of file
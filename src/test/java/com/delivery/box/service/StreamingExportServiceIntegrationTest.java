@@ -0,0 +1,130 @@
+package com.delivery.box.service;
+
+import com.delivery.box.dto.request.BoxRequest;
+import com.delivery.box.dto.request.BoxView;
+import com.delivery.box.dto.request.LoadItemsRequest;
+import com.delivery.box.dto.response.BoxResponse;
+import com.delivery.box.dto.response.ItemResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class StreamingExportServiceIntegrationTest {
+
+    @Autowired
+    private StreamingExportService streamingExportService;
+
+    @Autowired
+    private BoxService boxService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void writeAvailableBoxes_OneLinePerBoxInIdOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamingExportService.writeAvailableBoxes(null, null, out);
+
+        List<BoxResponse> boxes = readLines(out, BoxResponse.class);
+        assertEquals(List.of("BOX001", "BOX002", "BOX003"), boxes.stream().map(BoxResponse::getTxref).toList());
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+    }
+
+    @Test
+    void writeAvailableBoxes_LoadsItemsOncePerChunk() throws IOException {
+        for (int i = 0; i < 250; i++) {
+            boxService.createBox(new BoxRequest("STREAM_" + i, 500.0, 100));
+        }
+        // Pooled ids defer the inserts; write them out now so they are not counted against the export
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamingExportService.writeAvailableBoxes(null, null, out);
+
+        int boxes = readLines(out, BoxResponse.class).size();
+        int chunks = (boxes + StreamingExportService.CHUNK_SIZE - 1) / StreamingExportService.CHUNK_SIZE;
+        assertEquals(253, boxes);
+        // The cursor query plus at most one batched items query per chunk
+        assertTrue(statistics.getPrepareStatementCount() <= 1 + chunks);
+    }
+
+    @Test
+    void writeAvailableBoxes_SummaryView_NeverLoadsItems() throws IOException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamingExportService.writeAvailableBoxes(null, null, null, null, BoxView.SUMMARY, out);
+
+        assertEquals(3, readLines(out, BoxResponse.class).size());
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("\"items\""));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void writeAvailableBoxes_ExcludesLoadedAndFiltered() throws IOException {
+        boxService.loadBox("BOX001", new LoadItemsRequest(List.of("MED_009")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamingExportService.writeAvailableBoxes(80, null, out);
+
+        assertEquals(List.of("BOX002"), readLines(out, BoxResponse.class).stream().map(BoxResponse::getTxref).toList());
+    }
+
+    @Test
+    void writeItems_WeightFilter() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamingExportService.writeItems(50.0, 100.0, out);
+
+        List<ItemResponse> items = readLines(out, ItemResponse.class);
+        assertEquals(List.of("MED_001", "MED_002", "MED_004", "MED_008"), items.stream().map(ItemResponse::getCode).toList());
+    }
+
+    @Test
+    void writeItems_EmptyResult_WritesNothing() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamingExportService.writeItems(1000.0, null, out);
+
+        assertEquals(0, out.size());
+    }
+
+    private <T> List<T> readLines(ByteArrayOutputStream out, Class<T> type) throws IOException {
+        List<T> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readValue(line, type));
+            }
+        }
+        return rows;
+    }
+}
\ No newline at end of file
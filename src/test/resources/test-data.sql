@@ -12,19 +12,21 @@ INSERT INTO items (id, name, weight, code) VALUES (8, 'Vitamin-C', 80.0, 'MED_00
 INSERT INTO items (id, name, weight, code) VALUES (9, 'Heavy-Item', 450.0, 'MED_009');
 
 -- Insert Boxes
-INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state) VALUES (1, 'BOX001', 500.0, 100, 'IDLE');
-INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state) VALUES (2, 'BOX002', 400.0, 85, 'IDLE');
-INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state) VALUES (3, 'BOX003', 300.0, 50, 'IDLE');
-INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state) VALUES (4, 'BOX004', 450.0, 20, 'IDLE');
-INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state) VALUES (5, 'BOX005', 500.0, 15, 'IDLE');
-INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state) VALUES (6, 'BOX006', 200.0, 100, 'LOADED');
-INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state) VALUES (7, 'BOX007', 500.0, 100, 'DELIVERING');
+INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state, current_weight) VALUES (1, 'BOX001', 500.0, 100, 'IDLE', 0.0);
+INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state, current_weight) VALUES (2, 'BOX002', 400.0, 85, 'IDLE', 0.0);
+INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state, current_weight) VALUES (3, 'BOX003', 300.0, 50, 'IDLE', 0.0);
+INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state, current_weight) VALUES (4, 'BOX004', 450.0, 20, 'IDLE', 0.0);
+INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state, current_weight) VALUES (5, 'BOX005', 500.0, 15, 'IDLE', 0.0);
+INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state, current_weight, used_slots) VALUES (6, 'BOX006', 200.0, 100, 'LOADED', 155.0, 3);
+INSERT INTO boxes (id, txref, weight_limit, battery_capacity, state, current_weight) VALUES (7, 'BOX007', 500.0, 100, 'DELIVERING', 0.0);
 
--- Insert Box-Item relationships (BOX006 already has items loaded)
-INSERT INTO box_items (box_id, item_id) VALUES (6, 1);
-INSERT INTO box_items (box_id, item_id) VALUES (6, 2);
-INSERT INTO box_items (box_id, item_id) VALUES (6, 3);
+-- Insert load lines (BOX006 already has items loaded, one unit each)
+INSERT INTO box_load_lines (id, box_id, item_id, quantity, weight) VALUES (1, 6, 1, 1, 50.0);
+INSERT INTO box_load_lines (id, box_id, item_id, quantity, weight) VALUES (2, 6, 2, 1, 75.0);
+INSERT INTO box_load_lines (id, box_id, item_id, quantity, weight) VALUES (3, 6, 3, 1, 30.0);
 
--- Reset sequences to avoid ID conflicts with auto-generated IDs
-ALTER TABLE items ALTER COLUMN id RESTART WITH 100;
-ALTER TABLE boxes ALTER COLUMN id RESTART WITH 100;
\ No newline at end of file
+-- Reset sequences to avoid ID conflicts with auto-generated IDs. The pooled optimizer hands out
+-- the 50 ids up to each sequence value, so generated ids start at 101.
+ALTER SEQUENCE items_seq RESTART WITH 150;
+ALTER SEQUENCE boxes_seq RESTART WITH 150;
+ALTER SEQUENCE box_load_lines_seq RESTART WITH 150;
\ No newline at end of file